@@ -13,39 +13,77 @@
 package org.eclipse.cdt.lsp.clangd.internal.config;
 
 import org.eclipse.cdt.lsp.clangd.ClangFormatFile;
+import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
 import org.eclipse.cdt.lsp.plugin.LspPlugin;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IWindowListener;
 import org.eclipse.ui.IWorkbenchPartReference;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
 
-public final class ClangFormatMonitor implements IPartListener2, IWindowListener {
+/**
+ * Creates the .clang-format file of a project when its LSP based C/C++ editor gets activated. The component is
+ * activated by the event of the completed workbench startup, the part listeners get connected in the UI thread then.
+ */
+@Component(service = EventHandler.class, property = EventConstants.EVENT_TOPIC + "="
+		+ UIEvents.UILifeCycle.APP_STARTUP_COMPLETE)
+public final class ClangFormatMonitor implements EventHandler, IPartListener2, IWindowListener {
 	private ClangFormatFile clangFormat;
+	private boolean started;
+	private boolean stopped;
 
-	public ClangFormatMonitor start() {
-		if (PlatformUI.isWorkbenchRunning()) {
-			var workbench = PlatformUI.getWorkbench();
-			clangFormat = workbench.getService(ClangFormatFile.class);
-			if (clangFormat == null) {
-				Platform.getLog(getClass()).error("Cannot get ClangFormatFile service."); //$NON-NLS-1$
-				return this;
-			}
-			workbench.addWindowListener(this);
+	@Override
+	public void handleEvent(Event event) {
+		var plugin = ClangdPlugin.getDefault();
+		if (plugin != null) {
+			plugin.startInWorkbench("ClangFormatMonitor", this::start); //$NON-NLS-1$
+		}
+	}
 
-			// Ensure existing windows get connected
-			IWorkbenchWindow[] windows = PlatformUI.getWorkbench().getWorkbenchWindows();
-			for (int i = 0, length = windows.length; i < length; i++) {
-				windows[i].getPartService().addPartListener(this);
-			}
+	/**
+	 * Connects the part listeners, unless already started or stopped.
+	 */
+	public synchronized void start() {
+		if (started || stopped || !PlatformUI.isWorkbenchRunning()) {
+			return;
 		}
-		return this;
+		var workbench = PlatformUI.getWorkbench();
+		clangFormat = workbench.getService(ClangFormatFile.class);
+		if (clangFormat == null) {
+			Platform.getLog(getClass()).error("Cannot get ClangFormatFile service."); //$NON-NLS-1$
+			return;
+		}
+		workbench.addWindowListener(this);
+
+		// Ensure existing windows get connected
+		IWorkbenchWindow[] windows = workbench.getWorkbenchWindows();
+		for (int i = 0, length = windows.length; i < length; i++) {
+			windows[i].getPartService().addPartListener(this);
+		}
+		started = true;
 	}
 
-	public void stop() {
-		PlatformUI.getWorkbench().removeWindowListener(this);
+	/**
+	 * Disconnects the part listeners, a later {@link #start()} does nothing.
+	 */
+	@Deactivate
+	public synchronized void stop() {
+		stopped = true;
+		if (started && PlatformUI.isWorkbenchRunning()) {
+			var workbench = PlatformUI.getWorkbench();
+			workbench.removeWindowListener(this);
+			for (var window : workbench.getWorkbenchWindows()) {
+				window.getPartService().removePartListener(this);
+			}
+		}
 	}
 
 	@Override
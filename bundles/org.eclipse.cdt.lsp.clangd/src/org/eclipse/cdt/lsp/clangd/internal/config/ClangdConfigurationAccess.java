@@ -15,15 +15,14 @@ package org.eclipse.cdt.lsp.clangd.internal.config;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.eclipse.cdt.lsp.clangd.ClangdConfiguration;
 import org.eclipse.cdt.lsp.clangd.ClangdMetadata;
 import org.eclipse.cdt.lsp.clangd.ClangdOptions;
 import org.eclipse.cdt.lsp.clangd.ClangdQualifier;
 import org.eclipse.cdt.lsp.config.ConfigurationAccess;
+import org.eclipse.cdt.lsp.internal.config.CachedOptions;
 import org.eclipse.core.resources.IWorkspace;
-import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IPreferenceMetadataStore;
 import org.eclipse.core.runtime.preferences.IScopeContext;
@@ -31,6 +30,7 @@ import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.core.runtime.preferences.OsgiPreferenceMetadataStore;
 import org.eclipse.osgi.util.NLS;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 
 @Component
@@ -42,10 +42,18 @@ public final class ClangdConfigurationAccess extends ConfigurationAccess impleme
 	@Reference
 	private IWorkspace workspace;
 
+	private final CachedOptions<ClangdOptions> cachedOptions = new CachedOptions<>(qualifier,
+			(scopes, values) -> new ClangdPreferredOptions(metadata, qualifier, scopes, values));
+
 	public ClangdConfigurationAccess() {
 		super(new ClangdQualifier().get());
 	}
 
+	@Deactivate
+	public void deactivate() {
+		cachedOptions.dispose();
+	}
+
 	@Override
 	public ClangdMetadata metadata() {
 		return metadata;
@@ -58,14 +66,7 @@ public final class ClangdConfigurationAccess extends ConfigurationAccess impleme
 
 	@Override
 	public ClangdOptions options(Object context) {
-		Optional<ProjectScope> project = projectScope(workspace, context);
-		IScopeContext[] scopes;
-		if (project.isPresent()) {
-			scopes = new IScopeContext[] { project.get(), InstanceScope.INSTANCE, DefaultScope.INSTANCE };
-		} else {
-			scopes = new IScopeContext[] { InstanceScope.INSTANCE, DefaultScope.INSTANCE };
-		}
-		return new ClangdPreferredOptions(metadata, qualifier, scopes);
+		return cachedOptions.get(projectScope(workspace, context));
 	}
 
 	@Override
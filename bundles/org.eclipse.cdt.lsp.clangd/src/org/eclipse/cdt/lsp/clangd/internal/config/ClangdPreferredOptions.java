@@ -20,47 +20,54 @@ import java.util.List;
 import org.eclipse.cdt.lsp.PreferredOptions;
 import org.eclipse.cdt.lsp.clangd.ClangdMetadata;
 import org.eclipse.cdt.lsp.clangd.ClangdOptions;
+import org.eclipse.cdt.lsp.internal.config.OptionValues;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 
 final class ClangdPreferredOptions extends PreferredOptions implements ClangdOptions {
+	private final OptionValues values;
 
 	ClangdPreferredOptions(ClangdMetadata metadata, String qualifier, IScopeContext[] scopes) {
+		this(metadata, qualifier, scopes, OptionValues.resolved());
+	}
+
+	ClangdPreferredOptions(ClangdMetadata metadata, String qualifier, IScopeContext[] scopes, OptionValues values) {
 		super(metadata, qualifier, scopes);
+		this.values = values;
 	}
 
 	@Override
 	public String clangdPath() {
-		return stringValue(ClangdMetadata.Predefined.clangdPath);
+		return values.get(ClangdMetadata.Predefined.clangdPath, this::stringValue);
 	}
 
 	@Override
 	public boolean useTidy() {
-		return booleanValue(ClangdMetadata.Predefined.useTidy);
+		return values.get(ClangdMetadata.Predefined.useTidy, this::booleanValue);
 	}
 
 	@Override
 	public boolean useBackgroundIndex() {
-		return booleanValue(ClangdMetadata.Predefined.useBackgroundIndex);
+		return values.get(ClangdMetadata.Predefined.useBackgroundIndex, this::booleanValue);
 	}
 
 	@Override
 	public String completionStyle() {
-		return stringValue(ClangdMetadata.Predefined.completionStyle);
+		return values.get(ClangdMetadata.Predefined.completionStyle, this::stringValue);
 	}
 
 	@Override
 	public boolean prettyPrint() {
-		return booleanValue(ClangdMetadata.Predefined.prettyPrint);
+		return values.get(ClangdMetadata.Predefined.prettyPrint, this::booleanValue);
 	}
 
 	@Override
 	public String queryDriver() {
-		return stringValue(ClangdMetadata.Predefined.queryDriver);
+		return values.get(ClangdMetadata.Predefined.queryDriver, this::stringValue);
 	}
 
 	@Override
 	public List<String> additionalOptions() {
-		var options = stringValue(ClangdMetadata.Predefined.additionalOptions);
+		var options = values.get(ClangdMetadata.Predefined.additionalOptions, this::stringValue);
 		if (options.isBlank()) {
 			return new ArrayList<>();
 		}
@@ -69,22 +76,22 @@ final class ClangdPreferredOptions extends PreferredOptions implements ClangdOpt
 
 	@Override
 	public boolean logToConsole() {
-		return booleanValue(ClangdMetadata.Predefined.logToConsole);
+		return values.get(ClangdMetadata.Predefined.logToConsole, this::booleanValue);
 	}
 
 	@Override
 	public boolean validateClangdOptions() {
-		return booleanValue(ClangdMetadata.Predefined.validateClangdOptions);
+		return values.get(ClangdMetadata.Predefined.validateClangdOptions, this::booleanValue);
 	}
 
 	@Override
 	public boolean fillFunctionArguments() {
-		return booleanValue(ClangdMetadata.Predefined.fillFunctionArguments);
+		return values.get(ClangdMetadata.Predefined.fillFunctionArguments, this::booleanValue);
 	}
 
 	@Override
 	public boolean setCompilationDatabase() {
-		return booleanValue(ClangdMetadata.Predefined.setCompilationDatabase);
+		return values.get(ClangdMetadata.Predefined.setCompilationDatabase, this::booleanValue);
 	}
 
 }
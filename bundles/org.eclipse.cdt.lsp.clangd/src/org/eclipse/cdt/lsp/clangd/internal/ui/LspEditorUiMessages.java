@@ -56,4 +56,16 @@ public class LspEditorUiMessages extends NLS {
 	public static String ContentAssistConfigurationPage_fill_function_arguments_description;
 	public static String ContentAssistConfigurationPage_insertion_group_name;
 
+	public static String FormatFilesJob_name;
+	public static String FormatFilesJob_failed;
+	public static String FormatFilesJob_summary;
+
+	public static String CheckFormattingJob_name;
+	public static String CheckFormattingJob_failed;
+	public static String CheckFormattingJob_summary;
+	public static String CheckFormattingJob_clangFormatFailed;
+	public static String CheckFormattingJob_versionFailed;
+	public static String CheckFormattingJob_violation;
+	public static String CheckFormattingApplication_projectNotOpen;
+
 }
@@ -14,14 +14,24 @@
 
 package org.eclipse.cdt.lsp.clangd.plugin;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.cdt.lsp.clangd.format.CLanguageServerCheckEnabledProvider;
 import org.eclipse.cdt.lsp.clangd.format.ClangFormatFileMonitor;
-import org.eclipse.cdt.lsp.clangd.internal.config.ClangFormatMonitor;
 import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCompilationDatabaseSetter;
 import org.eclipse.cdt.lsp.clangd.internal.config.ClangdConfigFileMonitor;
 import org.eclipse.cdt.lsp.clangd.internal.config.CompileCommandsMonitor;
+import org.eclipse.cdt.lsp.internal.clangd.editor.SourceHeaderPairs;
 import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.eclipse.ui.progress.UIJob;
 import org.osgi.framework.BundleContext;
 import org.osgi.util.tracker.ServiceTracker;
 
@@ -35,10 +45,12 @@ public class ClangdPlugin extends AbstractUIPlugin {
 	private ClangdCompilationDatabaseSetter cProjectChangeMonitor;
 	private ClangdConfigFileMonitor configFileMonitor;
 	private ClangFormatFileMonitor clangFormatMonitor;
-	private ClangFormatMonitor formatMonitor;
+	private SourceHeaderPairs sourceHeaderPairs;
+	private final List<Job> startups = new CopyOnWriteArrayList<>();
 
 	// The plug-in ID
 	public static final String PLUGIN_ID = "org.eclipse.cdt.lsp.clangd"; //$NON-NLS-1$
+	private static final String TRACE_OPTION = PLUGIN_ID + "/debug/startup"; //$NON-NLS-1$
 
 	// The shared instance
 	private static ClangdPlugin plugin;
@@ -56,21 +68,81 @@ public class ClangdPlugin extends AbstractUIPlugin {
 		workspaceTracker = new ServiceTracker<>(context, IWorkspace.class, null);
 		workspaceTracker.open();
 		workspace = workspaceTracker.getService();
-		compileCommandsMonitor = new CompileCommandsMonitor(workspace).start();
-		cProjectChangeMonitor = new ClangdCompilationDatabaseSetter().start(workspace);
-		configFileMonitor = new ClangdConfigFileMonitor(workspace).start();
-		clangFormatMonitor = new ClangFormatFileMonitor(workspace, new CLanguageServerCheckEnabledProvider()).start();
-		formatMonitor = new ClangFormatMonitor().start();
+		compileCommandsMonitor = new CompileCommandsMonitor(workspace);
+		cProjectChangeMonitor = new ClangdCompilationDatabaseSetter();
+		configFileMonitor = new ClangdConfigFileMonitor(workspace);
+		clangFormatMonitor = new ClangFormatFileMonitor(workspace, new CLanguageServerCheckEnabledProvider());
+		sourceHeaderPairs = new SourceHeaderPairs(workspace);
+		// the resource monitors are started in parallel after the activation. They are no lazy components, since the
+		// resource changes they react on are only reported once they are started. The part listeners of
+		// ClangFormatMonitor and SourceHeaderPrefetch are components activated when the workbench startup completes:
+		startInBackground("CompileCommandsMonitor", compileCommandsMonitor::start); //$NON-NLS-1$
+		startInBackground("ClangdCompilationDatabaseSetter", () -> cProjectChangeMonitor.start(workspace)); //$NON-NLS-1$
+		startInBackground("ClangdConfigFileMonitor", configFileMonitor::start); //$NON-NLS-1$
+		startInBackground("ClangFormatFileMonitor", clangFormatMonitor::start); //$NON-NLS-1$
+		startInBackground("SourceHeaderPairs", sourceHeaderPairs::start); //$NON-NLS-1$
+	}
+
+	private void startInBackground(String name, Runnable start) {
+		var job = new Job(name) {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return timed(name, start);
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+		startups.add(job);
+	}
+
+	/**
+	 * Starts a monitor in the UI thread. The start is cancelled when the plug-in stops before, a start already running
+	 * is not waited for, hence the monitor has to ignore a start after its stop.
+	 *
+	 * @param name the name of the monitor, for the startup timing
+	 * @param start starts the monitor
+	 */
+	public void startInWorkbench(String name, Runnable start) {
+		var job = new UIJob(name) {
+
+			@Override
+			public IStatus runInUIThread(IProgressMonitor monitor) {
+				return timed(name, start);
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+		startups.add(job);
+	}
+
+	private IStatus timed(String name, Runnable start) {
+		long begin = System.nanoTime();
+		start.run();
+		if (Platform.getDebugBoolean(TRACE_OPTION)) {
+			Platform.getLog(getClass()).info(String.format("Started %s in %d ms", name, //$NON-NLS-1$
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)));
+		}
+		return Status.OK_STATUS;
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		plugin = null;
+		// monitors whose start is still pending are not started anymore, the others have to be started completely:
+		startups.forEach(Job::cancel);
+		for (var job : startups) {
+			// not waiting for the UI thread, since it may be the one stopping the bundle:
+			if (!(job instanceof UIJob)) {
+				job.join();
+			}
+		}
+		startups.clear();
 		compileCommandsMonitor.stop();
 		cProjectChangeMonitor.stop(workspace);
 		configFileMonitor.stop();
 		clangFormatMonitor.stop();
-		formatMonitor.stop();
+		sourceHeaderPairs.stop();
 		workspaceTracker.close();
 		super.stop(context);
 	}
@@ -88,4 +160,8 @@ public class ClangdPlugin extends AbstractUIPlugin {
 		return workspace;
 	}
 
+	public SourceHeaderPairs getSourceHeaderPairs() {
+		return sourceHeaderPairs;
+	}
+
 }
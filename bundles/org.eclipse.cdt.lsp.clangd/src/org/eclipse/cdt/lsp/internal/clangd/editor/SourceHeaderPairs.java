@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.clangd.editor;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+
+/**
+ * Caches the source/header counterparts returned by clangd's <em>textDocument/switchSourceHeader</em> in both
+ * directions. Concurrent requests for the same file share one request. If clangd doesn't know the counterpart,
+ * {@link #guess(URI)} looks for a file with the same base name in the same folder or project.
+ */
+public final class SourceHeaderPairs implements IResourceChangeListener {
+	private static final Set<String> SOURCE_EXTENSIONS = Set.of("c", "cc", "cpp", "cxx", "c++", "m", "mm"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+	private static final Set<String> HEADER_EXTENSIONS = Set.of("h", "hh", "hpp", "hxx", "h++", "inl"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+	private final IWorkspace workspace;
+	private final BiFunction<IDocument, URI, CompletableFuture<Optional<URI>>> server;
+	private final Map<URI, URI> pairs = new ConcurrentHashMap<>();
+	private final Map<URI, CompletableFuture<Optional<URI>>> requests = new ConcurrentHashMap<>();
+	/**
+	 * C/C++ files per lower case base name, built on demand per project and updated when C/C++ files are added or
+	 * removed. Derived files, e.g. build outputs, are not indexed.
+	 */
+	private final Map<IProject, Map<String, List<IFile>>> baseNames = new ConcurrentHashMap<>();
+
+	public SourceHeaderPairs(IWorkspace workspace) {
+		this(workspace, SourceHeaderPairs::request);
+	}
+
+	/**
+	 * @param workspace the workspace
+	 * @param server requests the counterpart of a document from its language server
+	 */
+	public SourceHeaderPairs(IWorkspace workspace,
+			BiFunction<IDocument, URI, CompletableFuture<Optional<URI>>> server) {
+		this.workspace = workspace;
+		this.server = server;
+	}
+
+	public SourceHeaderPairs start() {
+		workspace.addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		return this;
+	}
+
+	public void stop() {
+		workspace.removeResourceChangeListener(this);
+		pairs.clear();
+		requests.clear();
+		baseNames.clear();
+	}
+
+	/**
+	 * @param uri the source or header file
+	 * @return the counterpart returned by clangd before, empty if not known yet
+	 */
+	public Optional<URI> cached(URI uri) {
+		return Optional.ofNullable(pairs.get(normalize(uri)));
+	}
+
+	/**
+	 * Requests the counterpart from clangd, unless it's cached or already requested.
+	 *
+	 * @param document the document of the file, connected to the language server
+	 * @param uri the source or header file
+	 * @return the counterpart, empty if clangd doesn't know it
+	 */
+	public CompletableFuture<Optional<URI>> counterpart(IDocument document, URI uri) {
+		var key = normalize(uri);
+		var cached = pairs.get(key);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(Optional.of(cached));
+		}
+		var request = requests.computeIfAbsent(key, k -> server.apply(document, uri));
+		request.whenComplete((result, e) -> {
+			requests.remove(key, request);
+			if (result != null) {
+				result.ifPresent(other -> put(key, other));
+			}
+		});
+		return request;
+	}
+
+	private static CompletableFuture<Optional<URI>> request(IDocument document, URI uri) {
+		var identifier = new TextDocumentIdentifier(uri.toString());
+		return LanguageServers.forDocument(document)
+				.computeFirst(server -> server instanceof ClangdLanguageServer clangd
+						? clangd.switchSourceHeader(identifier)
+						: null)
+				.thenApply(result -> result.filter(other -> !other.isBlank()).map(URI::create));
+	}
+
+	/**
+	 * Guesses the counterpart by file name, e.g. {@code foo.h} for {@code foo.cpp}. Files in the same folder are
+	 * preferred over files elsewhere in the project.
+	 *
+	 * @param uri the source or header file
+	 * @return the guessed counterpart, empty if there is no file with the same base name and the opposite kind
+	 */
+	public Optional<URI> guess(URI uri) {
+		var files = workspace.getRoot().findFilesForLocationURI(uri);
+		if (files.length == 0) {
+			return Optional.empty();
+		}
+		var file = files[0];
+		var extension = extension(file);
+		var counterparts = SOURCE_EXTENSIONS.contains(extension) ? HEADER_EXTENSIONS
+				: HEADER_EXTENSIONS.contains(extension) ? SOURCE_EXTENSIONS : Set.<String>of();
+		var candidates = baseNames(file.getProject()).getOrDefault(baseName(file), List.of()).stream()
+				.filter(candidate -> counterparts.contains(extension(candidate))).toList();
+		return candidates.stream().filter(candidate -> candidate.getParent().equals(file.getParent())).findFirst()
+				.or(() -> candidates.stream().findFirst()).map(IFile::getLocationURI);
+	}
+
+	private void put(URI uri, URI other) {
+		var normalized = normalize(other);
+		pairs.put(uri, normalized);
+		pairs.put(normalized, uri);
+	}
+
+	private Map<String, List<IFile>> baseNames(IProject project) {
+		return baseNames.computeIfAbsent(project, p -> {
+			var index = new ConcurrentHashMap<String, List<IFile>>();
+			try {
+				p.accept(proxy -> {
+					if (proxy.getType() == IResource.FILE && !proxy.isDerived() && isCElement(proxy.getName())) {
+						var file = (IFile) proxy.requestResource();
+						index.computeIfAbsent(baseName(file), key -> new CopyOnWriteArrayList<>()).add(file);
+					}
+					return !proxy.isDerived();
+				}, IResource.NONE);
+			} catch (CoreException e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+			}
+			return index;
+		});
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getDelta() == null) {
+			return;
+		}
+		try {
+			event.getDelta().accept(delta -> {
+				if (delta.getResource() instanceof IProject project && (delta.getKind() == IResourceDelta.REMOVED
+						|| (delta.getFlags() & IResourceDelta.OPEN) != 0)) {
+					baseNames.remove(project);
+				} else if (delta.getResource() instanceof IFile file && isCElement(file.getName())) {
+					switch (delta.getKind()) {
+					case IResourceDelta.ADDED -> added(file);
+					case IResourceDelta.REMOVED -> removed(file);
+					default -> {
+						// content changes don't affect the pairs
+					}
+					}
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			Platform.getLog(getClass()).error(e.getMessage(), e);
+		}
+	}
+
+	private void added(IFile file) {
+		var index = baseNames.get(file.getProject());
+		if (index != null && !file.isDerived(IResource.CHECK_ANCESTORS)) {
+			index.compute(baseName(file), (key, files) -> {
+				var result = files != null ? files : new CopyOnWriteArrayList<IFile>();
+				// the file may have been indexed already, when the project has been scanned concurrently:
+				if (!result.contains(file)) {
+					result.add(file);
+				}
+				return result;
+			});
+		}
+	}
+
+	private void removed(IFile file) {
+		var index = baseNames.get(file.getProject());
+		if (index != null) {
+			index.computeIfPresent(baseName(file), (key, files) -> {
+				files.remove(file);
+				return files.isEmpty() ? null : files;
+			});
+		}
+		var location = file.getLocationURI();
+		if (location != null) {
+			var other = pairs.remove(normalize(location));
+			if (other != null) {
+				pairs.remove(other);
+			}
+		}
+	}
+
+	private static boolean isCElement(String fileName) {
+		var contentType = Platform.getContentTypeManager().findContentTypeFor(fileName);
+		return contentType != null && LspUtils.isCContentType(contentType.getId());
+	}
+
+	private static String baseName(IFile file) {
+		var name = file.getName();
+		var dot = name.lastIndexOf('.');
+		return (dot > 0 ? name.substring(0, dot) : name).toLowerCase(Locale.ROOT);
+	}
+
+	private static String extension(IFile file) {
+		var extension = file.getFileExtension();
+		return extension == null ? "" : extension.toLowerCase(Locale.ROOT); //$NON-NLS-1$
+	}
+
+	/**
+	 * clangd answers {@code file:///path} whereas Eclipse creates {@code file:/path}.
+	 */
+	private static URI normalize(URI uri) {
+		if ("file".equals(uri.getScheme())) { //$NON-NLS-1$
+			try {
+				return Path.of(uri).toUri();
+			} catch (IllegalArgumentException e) {
+				return uri;
+			}
+		}
+		return uri;
+	}
+
+}
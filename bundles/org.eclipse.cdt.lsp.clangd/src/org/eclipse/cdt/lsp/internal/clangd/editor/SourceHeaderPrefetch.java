@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.clangd.editor;
+
+import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.e4.ui.workbench.UIEvents;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Requests the source/header counterpart of a file as soon as its LSP based C/C++ editor gets activated,
+ * so toggling between source and header doesn't need to wait for clangd. The component is activated by the event of
+ * the completed workbench startup, the part listeners get connected in the UI thread then.
+ */
+@Component(service = EventHandler.class, property = EventConstants.EVENT_TOPIC + "="
+		+ UIEvents.UILifeCycle.APP_STARTUP_COMPLETE)
+public final class SourceHeaderPrefetch implements EventHandler, IPartListener2, IWindowListener {
+	private SourceHeaderPairs pairs;
+	private boolean started;
+	private boolean stopped;
+
+	@Override
+	public void handleEvent(Event event) {
+		var plugin = ClangdPlugin.getDefault();
+		if (plugin != null) {
+			plugin.startInWorkbench("SourceHeaderPrefetch", () -> start(plugin.getSourceHeaderPairs())); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Connects the part listeners, unless already started or stopped.
+	 *
+	 * @param pairs the cache of the counterparts to fill
+	 */
+	public synchronized void start(SourceHeaderPairs pairs) {
+		if (started || stopped || !PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		this.pairs = pairs;
+		var workbench = PlatformUI.getWorkbench();
+		workbench.addWindowListener(this);
+		// Ensure existing windows get connected
+		for (var window : workbench.getWorkbenchWindows()) {
+			window.getPartService().addPartListener(this);
+		}
+		started = true;
+	}
+
+	/**
+	 * Disconnects the part listeners, a later {@link #start(SourceHeaderPairs)} does nothing.
+	 */
+	@Deactivate
+	public synchronized void stop() {
+		stopped = true;
+		if (started && PlatformUI.isWorkbenchRunning()) {
+			var workbench = PlatformUI.getWorkbench();
+			workbench.removeWindowListener(this);
+			for (var window : workbench.getWorkbenchWindows()) {
+				window.getPartService().removePartListener(this);
+			}
+		}
+	}
+
+	@Override
+	public void partActivated(IWorkbenchPartReference partRef) {
+		if (LspPlugin.LSP_C_EDITOR_ID.equals(partRef.getId()) && partRef.getPart(false) instanceof IEditorPart editor) {
+			var document = LSPEclipseUtils.getDocument(editor.getEditorInput());
+			var uri = document != null ? LSPEclipseUtils.toUri(document) : null;
+			if (uri != null && pairs.cached(uri).isEmpty()) {
+				pairs.counterpart(document, uri);
+			}
+		}
+	}
+
+	@Override
+	public void windowActivated(IWorkbenchWindow window) {
+		// do nothing
+	}
+
+	@Override
+	public void windowDeactivated(IWorkbenchWindow window) {
+		// do nothing
+	}
+
+	@Override
+	public void windowClosed(IWorkbenchWindow window) {
+		window.getPartService().removePartListener(this);
+	}
+
+	@Override
+	public void windowOpened(IWorkbenchWindow window) {
+		window.getPartService().addPartListener(this);
+	}
+
+}
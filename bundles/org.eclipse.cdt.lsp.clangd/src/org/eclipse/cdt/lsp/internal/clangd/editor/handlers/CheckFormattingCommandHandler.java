@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.clangd.editor.handlers;
+
+import java.util.ArrayList;
+
+import org.eclipse.cdt.lsp.internal.clangd.format.CheckFormattingJob;
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Adapters;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.ui.handlers.HandlerUtil;
+
+/**
+ * Checks the formatting of the C/C++ files of the selected resources in the background.
+ */
+public class CheckFormattingCommandHandler extends AbstractHandler {
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		if (HandlerUtil.getCurrentSelection(event) instanceof IStructuredSelection selection) {
+			var resources = new ArrayList<IResource>();
+			for (var element : selection) {
+				var resource = Adapters.adapt(element, IResource.class);
+				if (resource != null) {
+					resources.add(resource);
+				}
+			}
+			if (!resources.isEmpty()) {
+				var job = new CheckFormattingJob(resources);
+				job.setUser(true);
+				job.schedule();
+			}
+		}
+		return null;
+	}
+
+}
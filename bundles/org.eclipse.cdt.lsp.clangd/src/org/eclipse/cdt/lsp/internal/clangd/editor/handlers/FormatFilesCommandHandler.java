@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.clangd.editor.handlers;
+
+import java.util.ArrayList;
+
+import org.eclipse.cdt.lsp.internal.clangd.format.FormatFilesJob;
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Adapters;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.ui.handlers.HandlerUtil;
+
+/**
+ * Formats the C/C++ files of the selected resources in the background.
+ */
+public class FormatFilesCommandHandler extends AbstractHandler {
+
+	@Override
+	public Object execute(ExecutionEvent event) throws ExecutionException {
+		if (HandlerUtil.getCurrentSelection(event) instanceof IStructuredSelection selection) {
+			var resources = new ArrayList<IResource>();
+			for (var element : selection) {
+				var resource = Adapters.adapt(element, IResource.class);
+				if (resource != null) {
+					resources.add(resource);
+				}
+			}
+			if (!resources.isEmpty()) {
+				new FormatFilesJob(resources).schedule();
+			}
+		}
+		return null;
+	}
+
+}
@@ -14,17 +14,16 @@ package org.eclipse.cdt.lsp.internal.clangd.editor.handlers;
 
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
 import org.eclipse.cdt.lsp.plugin.LspPlugin;
-import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.IHandler;
 import org.eclipse.core.runtime.Adapters;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IFileEditorInput;
@@ -37,6 +36,11 @@ import org.eclipse.ui.statushandlers.StatusManager;
 import org.eclipse.ui.texteditor.ITextEditor;
 
 public class ToggleSourceAndHeaderCommandHandler extends AbstractHandler implements IHandler {
+	/**
+	 * Time to wait for clangd before the counterpart gets guessed by file name.
+	 */
+	private static final long CLANGD_TIMEOUT_MS = 300;
+
 	@Override
 	public Object execute(ExecutionEvent event) throws ExecutionException {
 		return execute(HandlerUtil.getActiveEditor(event));
@@ -50,15 +54,20 @@ public class ToggleSourceAndHeaderCommandHandler extends AbstractHandler impleme
 				.orElse(activeEditor);
 
 		getUri(innerEditor).ifPresent(fileUri -> {
+			var page = innerEditor.getEditorSite().getPage();
+			var pairs = ClangdPlugin.getDefault().getSourceHeaderPairs();
+			var cached = pairs.cached(fileUri);
+			if (cached.isPresent()) {
+				openEditor(page, cached.get());
+				return;
+			}
 			IDocument document = org.eclipse.lsp4e.LSPEclipseUtils.getDocument(innerEditor.getEditorInput());
-			org.eclipse.lsp4e.LanguageServers.forDocument(document)
-					.computeFirst(
-							server -> server instanceof ClangdLanguageServer
-									? ((ClangdLanguageServer) server)
-											.switchSourceHeader(new TextDocumentIdentifier(fileUri.toString()))
-									: null)
-					.thenAccept(otherFileUri -> otherFileUri
-							.ifPresent(uri -> openEditor(innerEditor.getEditorSite().getPage(), URI.create(uri))));
+			// don't let a busy clangd block the toggle, its answer gets cached for the next time:
+			pairs.counterpart(document, fileUri).copy()
+					.completeOnTimeout(Optional.empty(), CLANGD_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+					.exceptionally(e -> Optional.empty())
+					.thenApply(otherFileUri -> otherFileUri.or(() -> pairs.guess(fileUri)))
+					.thenAccept(otherFileUri -> otherFileUri.ifPresent(uri -> openEditor(page, uri)));
 		});
 
 		return null;
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.clangd.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.cdt.lsp.clangd.internal.ui.LspEditorUiMessages;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Headless application checking the formatting of the C/C++ files of the given projects, or of all open projects
+ * if none are given, e.g.
+ *
+ * <pre>
+ * eclipse -nosplash -application org.eclipse.cdt.lsp.clangd.checkFormatting -data &lt;workspace&gt; [project...]
+ * </pre>
+ *
+ * Exits with 0 if all files are formatted, 1 if files would be changed by formatting and 2 if the check failed.
+ * The markers are saved with the workspace.
+ */
+public class CheckFormattingApplication implements IApplication {
+	private static final Integer EXIT_UNFORMATTED = 1;
+	private static final Integer EXIT_FAILED = 2;
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		var workspace = ResourcesPlugin.getWorkspace();
+		var arguments = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		List<IResource> projects = new ArrayList<>();
+		if (arguments == null || arguments.length == 0) {
+			Arrays.stream(workspace.getRoot().getProjects()).filter(IProject::isOpen).forEach(projects::add);
+		} else {
+			for (var name : arguments) {
+				var project = workspace.getRoot().getProject(name);
+				if (!project.isOpen()) {
+					Platform.getLog(getClass())
+							.error(NLS.bind(LspEditorUiMessages.CheckFormattingApplication_projectNotOpen, name));
+					return EXIT_FAILED;
+				}
+				projects.add(project);
+			}
+		}
+		var job = new CheckFormattingJob(projects);
+		job.schedule();
+		job.join();
+		workspace.save(true, null);
+		var result = job.getResult();
+		if (result == null || !result.isOK()) {
+			return EXIT_FAILED;
+		}
+		return job.unformatted() > 0 ? EXIT_UNFORMATTED : IApplication.EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+		// the check is not interrupted
+	}
+
+}
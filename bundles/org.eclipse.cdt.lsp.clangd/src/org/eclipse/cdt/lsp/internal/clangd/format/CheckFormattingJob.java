@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.clangd.format;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.eclipse.cdt.lsp.clangd.ClangdConfiguration;
+import org.eclipse.cdt.lsp.clangd.format.ClangFormatFileMonitor;
+import org.eclipse.cdt.lsp.clangd.internal.ui.LspEditorUiMessages;
+import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.ServiceCaller;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.variables.VariablesPlugin;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Checks whether <code>clang-format</code> would change the C/C++ files of the given resources and marks the lines
+ * that would change with {@link #MARKER} markers. The files are checked by one <code>clang-format --dry-run</code>
+ * process per core. The results are cached across sessions by {@link FormatCheckCache}, so only changed files or
+ * files with a changed <code>.clang-format</code> file are checked again. Runs without UI, see
+ * {@link CheckFormattingApplication}.
+ */
+public final class CheckFormattingJob extends Job {
+	public static final String MARKER = ClangdPlugin.PLUGIN_ID + ".format.violation"; //$NON-NLS-1$
+	private static final Pattern VIOLATION = Pattern
+			.compile("^.*:(?<line>\\d+):(?<column>\\d+): \\w+: .*\\[-Wclang-format-violations\\]$"); //$NON-NLS-1$
+	private static final String CACHE_FILE = "format-check.properties"; //$NON-NLS-1$
+	private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+	/**
+	 * Runs the checks one after the other, since each run loads and saves the whole cache file.
+	 */
+	private static final ISchedulingRule CACHE_RULE = new ISchedulingRule() {
+
+		@Override
+		public boolean contains(ISchedulingRule rule) {
+			return rule == this;
+		}
+
+		@Override
+		public boolean isConflicting(ISchedulingRule rule) {
+			return rule == this;
+		}
+	};
+
+	private enum Result {
+		FORMATTED, UNFORMATTED, SKIPPED
+	}
+
+	/**
+	 * @param executable the clang-format executable
+	 * @param version the output of <code>clang-format --version</code>
+	 */
+	private record ClangFormat(String executable, String version) {
+	}
+
+	private final List<IResource> resources;
+	private final ServiceCaller<ClangdConfiguration> configuration = new ServiceCaller<>(getClass(),
+			ClangdConfiguration.class);
+	/**
+	 * The <code>.clang-format</code> file per directory and the content per <code>.clang-format</code> file,
+	 * kept for one run.
+	 */
+	private final Map<Path, Optional<Path>> styles = new ConcurrentHashMap<>();
+	private final Map<Path, byte[]> styleContents = new ConcurrentHashMap<>();
+	private volatile int unformatted;
+
+	public CheckFormattingJob(Collection<? extends IResource> resources) {
+		super(LspEditorUiMessages.CheckFormattingJob_name);
+		this.resources = List.copyOf(resources);
+		setRule(CACHE_RULE);
+	}
+
+	/**
+	 * @return the number of files that would be changed by formatting, as found by the last run
+	 */
+	public int unformatted() {
+		return unformatted;
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		long start = System.nanoTime();
+		var files = FormatFilesJob.files(resources);
+		var subMonitor = SubMonitor.convert(monitor, files.size());
+		final ClangFormat command;
+		try {
+			command = command();
+		} catch (IOException e) {
+			return Status.error(e.getMessage(), e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Status.CANCEL_STATUS;
+		}
+		var cache = new FormatCheckCache(ClangdPlugin.getDefault().getStateLocation().append(CACHE_FILE).toPath());
+		try {
+			cache.load();
+		} catch (IOException e) {
+			Platform.getLog(getClass()).error(e.getMessage(), e);
+		}
+		styles.clear();
+		styleContents.clear();
+		var results = new EnumMap<Result, Integer>(Result.class);
+		var status = new MultiStatus(ClangdPlugin.PLUGIN_ID, 0, LspEditorUiMessages.CheckFormattingJob_failed, null);
+		var executor = Executors.newFixedThreadPool(PARALLELISM);
+		try {
+			var completion = new ExecutorCompletionService<Result>(executor);
+			for (var file : files) {
+				completion.submit(() -> check(file, command, cache));
+			}
+			for (int i = 0; i < files.size(); i++) {
+				if (subMonitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				try {
+					results.merge(completion.take().get(), 1, Integer::sum);
+				} catch (ExecutionException e) {
+					var cause = e.getCause() != null ? e.getCause() : e;
+					status.add(Status.error(String.valueOf(cause.getMessage()), cause));
+				}
+				subMonitor.worked(1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Status.CANCEL_STATUS;
+		} finally {
+			executor.shutdownNow();
+			try {
+				cache.save();
+			} catch (IOException e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+			}
+		}
+		unformatted = results.getOrDefault(Result.UNFORMATTED, 0);
+		Platform.getLog(getClass())
+				.info(NLS.bind(LspEditorUiMessages.CheckFormattingJob_summary,
+						new Object[] { files.size(), unformatted, results.getOrDefault(Result.SKIPPED, 0),
+								status.getChildren().length,
+								TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) }));
+		return status.isOK() ? Status.OK_STATUS : status;
+	}
+
+	private Result check(IFile file, ClangFormat command, FormatCheckCache cache)
+			throws IOException, InterruptedException, CoreException {
+		var location = file.getLocation();
+		if (location == null) {
+			return Result.SKIPPED;
+		}
+		var path = location.toPath();
+		var style = style(path.getParent()).map(this::styleContent).orElse(new byte[0]);
+		var key = FormatCheckCache.key(Files.readAllBytes(path), style, command.version());
+		var lines = cache.get(key);
+		if (lines.isEmpty()) {
+			lines = Optional.of(clangFormat(command.executable(), path));
+			cache.put(key, lines.get());
+		}
+		updateMarkers(file, lines.get());
+		return lines.get().isEmpty() ? Result.FORMATTED : Result.UNFORMATTED;
+	}
+
+	/**
+	 * @return the lines that would be changed by clang-format
+	 */
+	private static List<Integer> clangFormat(String command, Path path) throws IOException, InterruptedException {
+		var process = new ProcessBuilder(command, "--dry-run", path.toString()) //$NON-NLS-1$
+				.directory(path.getParent().toFile()).redirectOutput(Redirect.DISCARD).start();
+		Set<Integer> lines = new TreeSet<>();
+		var errors = new ArrayList<String>();
+		try (var reader = process.errorReader()) {
+			for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+				var violation = violation(line);
+				if (violation.isPresent()) {
+					lines.add(violation.get());
+				} else if (line.contains("error:")) { //$NON-NLS-1$
+					errors.add(line);
+				}
+			}
+		}
+		int exitValue = process.waitFor();
+		if (exitValue != 0) {
+			throw new IOException(NLS.bind(LspEditorUiMessages.CheckFormattingJob_clangFormatFailed,
+					new Object[] { path, exitValue, errors.stream().collect(Collectors.joining("\n")) })); //$NON-NLS-1$
+		}
+		return List.copyOf(lines);
+	}
+
+	/**
+	 * @param line a line of the <code>clang-format --dry-run</code> diagnostics
+	 * @return the number of the line reported as violation, empty if the line doesn't report a violation
+	 */
+	public static Optional<Integer> violation(String line) {
+		Matcher matcher = VIOLATION.matcher(line);
+		if (matcher.matches()) {
+			return Optional.of(Integer.valueOf(matcher.group("line"))); //$NON-NLS-1$
+		}
+		return Optional.empty();
+	}
+
+	private static void updateMarkers(IFile file, List<Integer> lines) throws CoreException {
+		var existing = new TreeSet<Integer>();
+		for (var marker : file.findMarkers(MARKER, false, IResource.DEPTH_ZERO)) {
+			existing.add(marker.getAttribute(IMarker.LINE_NUMBER, -1));
+		}
+		if (existing.equals(new TreeSet<>(lines))) {
+			return;
+		}
+		file.getWorkspace().run(monitor -> {
+			file.deleteMarkers(MARKER, false, IResource.DEPTH_ZERO);
+			for (var line : lines) {
+				file.createMarker(MARKER).setAttributes(
+						new String[] { IMarker.MESSAGE, IMarker.SEVERITY, IMarker.LINE_NUMBER },
+						new Object[] { LspEditorUiMessages.CheckFormattingJob_violation, IMarker.SEVERITY_WARNING,
+								line });
+			}
+		}, file, IWorkspace.AVOID_UPDATE, null);
+	}
+
+	/**
+	 * @return the <code>.clang-format</code> file applied to the files of the given directory
+	 */
+	private Optional<Path> style(Path directory) {
+		if (directory == null) {
+			return Optional.empty();
+		}
+		var known = styles.get(directory);
+		if (known != null) {
+			return known;
+		}
+		var candidate = directory.resolve(ClangFormatFileMonitor.CLANG_FORMAT_FILE);
+		var style = Files.isRegularFile(candidate) ? Optional.of(candidate) : style(directory.getParent());
+		styles.put(directory, style);
+		return style;
+	}
+
+	private byte[] styleContent(Path style) {
+		var content = styleContents.get(style);
+		if (content == null) {
+			try {
+				content = Files.readAllBytes(style);
+			} catch (IOException e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+				content = new byte[0];
+			}
+			styleContents.put(style, content);
+		}
+		return content;
+	}
+
+	/**
+	 * Resolves the clang-format executable and its version once per run. The version goes into the cache keys, so
+	 * results cached for another clang-format version, e.g. before an upgrade in place, are not reused.
+	 *
+	 * @return the clang-format next to the configured clangd, otherwise the one on the path
+	 */
+	private ClangFormat command() throws IOException, InterruptedException {
+		var clangFormat = Platform.OS_WIN32.equals(Platform.getOS()) ? "clang-format.exe" : "clang-format"; //$NON-NLS-1$ //$NON-NLS-2$
+		var clangd = configuration.current().map(c -> c.commands(null)).filter(commands -> !commands.isEmpty())
+				.map(commands -> resolveVariables(commands.get(0)));
+		var executable = clangd.map(Path::of).map(path -> path.resolveSibling(clangFormat))
+				.filter(Files::isExecutable).map(Path::toString).orElse(clangFormat);
+		var process = new ProcessBuilder(executable, "--version").redirectErrorStream(true).start(); //$NON-NLS-1$
+		final String version;
+		try (var reader = process.inputReader()) {
+			version = reader.lines().collect(Collectors.joining("\n")).strip(); //$NON-NLS-1$
+		}
+		int exitValue = process.waitFor();
+		if (exitValue != 0) {
+			throw new IOException(NLS.bind(LspEditorUiMessages.CheckFormattingJob_versionFailed,
+					new Object[] { executable, exitValue, version }));
+		}
+		return new ClangFormat(executable, version);
+	}
+
+	private static String resolveVariables(String cmd) {
+		try {
+			return VariablesPlugin.getDefault().getStringVariableManager().performStringSubstitution(cmd);
+		} catch (CoreException e) {
+			return cmd;
+		}
+	}
+
+}
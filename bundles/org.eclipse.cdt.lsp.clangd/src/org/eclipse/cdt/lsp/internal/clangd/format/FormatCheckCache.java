@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.clangd.format;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent results of the formatting check, keyed by the hash of the checked file content, the hash of the
+ * applied <code>.clang-format</code> file and the hash of the clang-format version. A result is the list of lines that would be changed by formatting.
+ * All methods are thread safe.
+ */
+public final class FormatCheckCache {
+	/**
+	 * Above this number of entries, only the entries used since loading are saved.
+	 */
+	private static final int MAX_ENTRIES = 100_000;
+
+	private final Path location;
+	private final Map<String, String> entries = new ConcurrentHashMap<>();
+	private final Set<String> used = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param location the file the cache is loaded from and saved to
+	 */
+	public FormatCheckCache(Path location) {
+		this.location = location;
+	}
+
+	public FormatCheckCache load() throws IOException {
+		if (Files.isRegularFile(location)) {
+			var properties = new Properties();
+			try (Reader reader = Files.newBufferedReader(location, StandardCharsets.UTF_8)) {
+				properties.load(reader);
+			}
+			properties.forEach((key, value) -> entries.put((String) key, (String) value));
+		}
+		return this;
+	}
+
+	public void save() throws IOException {
+		var properties = new Properties();
+		if (entries.size() > MAX_ENTRIES) {
+			used.forEach(key -> Optional.ofNullable(entries.get(key)).ifPresent(value -> properties.put(key, value)));
+		} else {
+			properties.putAll(entries);
+		}
+		Files.createDirectories(location.getParent());
+		try (Writer writer = Files.newBufferedWriter(location, StandardCharsets.UTF_8)) {
+			properties.store(writer, null);
+		}
+	}
+
+	/**
+	 * @param key the key created by {@link #key(byte[], byte[], String)}
+	 * @return the lines that would be changed by formatting, empty if the key is unknown
+	 */
+	public Optional<List<Integer>> get(String key) {
+		var value = entries.get(key);
+		if (value == null) {
+			return Optional.empty();
+		}
+		used.add(key);
+		if (value.isEmpty()) {
+			return Optional.of(List.of());
+		}
+		return Optional.of(Arrays.stream(value.split(",")).map(Integer::valueOf).toList()); //$NON-NLS-1$
+	}
+
+	public void put(String key, List<Integer> lines) {
+		used.add(key);
+		entries.put(key, lines.stream().map(String::valueOf).collect(Collectors.joining(","))); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param content the content of the checked file
+	 * @param style the content of the applied <code>.clang-format</code> file, empty if there is none
+	 * @param version the output of <code>clang-format --version</code>, since the result depends on the version
+	 * @return the key of the check result
+	 */
+	public static String key(byte[] content, byte[] style, String version) {
+		return hash(content) + ':' + hash(style) + ':' + hash(version.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String hash(byte[] bytes) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes)); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is available on every Java platform
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.clangd.format;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.cdt.lsp.clangd.internal.ui.LspEditorUiMessages;
+import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
+import org.eclipse.cdt.lsp.editor.EditorConfiguration;
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.ServiceCaller;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4j.DocumentFormattingParams;
+import org.eclipse.lsp4j.FormattingOptions;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.editors.text.EditorsUI;
+import org.eclipse.ui.texteditor.AbstractDecoratedTextEditorPreferenceConstants;
+
+/**
+ * Formats all C/C++ files of the given resources by means of <em>textDocument/formatting</em>, if format on save
+ * is enabled for all lines in their project. Format on save of edited lines only skips the files, since a saved file
+ * has no edited lines. The files are processed by a bounded number of workers, connected as file buffers only while
+ * being formatted and saved without opening an editor. Files with unsaved changes are skipped.
+ */
+public final class FormatFilesJob extends Job {
+	private static final int PARALLELISM = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+	private static final long TIMEOUT_S = 60;
+
+	private enum Result {
+		FORMATTED, UNCHANGED, SKIPPED
+	}
+
+	private final List<IResource> resources;
+	private final ServiceCaller<EditorConfiguration> configuration = new ServiceCaller<>(getClass(),
+			EditorConfiguration.class);
+
+	public FormatFilesJob(Collection<? extends IResource> resources) {
+		super(LspEditorUiMessages.FormatFilesJob_name);
+		this.resources = List.copyOf(resources);
+		setUser(true);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		long start = System.nanoTime();
+		var files = files(resources);
+		var subMonitor = SubMonitor.convert(monitor, files.size());
+		var results = new EnumMap<Result, Integer>(Result.class);
+		var status = new MultiStatus(ClangdPlugin.PLUGIN_ID, 0, LspEditorUiMessages.FormatFilesJob_failed,
+				null);
+		var executor = Executors.newFixedThreadPool(PARALLELISM);
+		try {
+			var completion = new ExecutorCompletionService<Result>(executor);
+			for (var file : files) {
+				completion.submit(() -> format(file));
+			}
+			for (int i = 0; i < files.size(); i++) {
+				if (subMonitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				try {
+					results.merge(completion.take().get(), 1, Integer::sum);
+				} catch (ExecutionException e) {
+					var cause = e.getCause() != null ? e.getCause() : e;
+					status.add(Status.error(String.valueOf(cause.getMessage()), cause));
+				}
+				subMonitor.worked(1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Status.CANCEL_STATUS;
+		} finally {
+			executor.shutdownNow();
+		}
+		long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		int formatted = results.getOrDefault(Result.FORMATTED, 0);
+		int unchanged = results.getOrDefault(Result.UNCHANGED, 0);
+		// the throughput of the files formatted by the language server, whether it changed them or not:
+		Platform.getLog(getClass())
+				.info(NLS.bind(LspEditorUiMessages.FormatFilesJob_summary,
+						new Object[] { formatted, unchanged, results.getOrDefault(Result.SKIPPED, 0),
+								status.getChildren().length, millis, (formatted + unchanged) * 1000L / millis }));
+		return status.isOK() ? Status.OK_STATUS : status;
+	}
+
+	private Result format(IFile file) throws CoreException, BadLocationException, InterruptedException,
+			ExecutionException, TimeoutException {
+		var formatAllLines = configuration.current().map(c -> c.options(file))
+				.map(o -> o.formatOnSave() && o.formatAllLines()).orElse(false);
+		if (!formatAllLines) {
+			return Result.SKIPPED;
+		}
+		var manager = FileBuffers.getTextFileBufferManager();
+		var path = file.getFullPath();
+		manager.connect(path, LocationKind.IFILE, null);
+		try {
+			var buffer = manager.getTextFileBuffer(path, LocationKind.IFILE);
+			if (buffer == null || buffer.isDirty()) {
+				// don't save changes of an open editor
+				return Result.SKIPPED;
+			}
+			var document = buffer.getDocument();
+			var params = new DocumentFormattingParams(
+					LSPEclipseUtils.toTextDocumentIdentifier(LSPEclipseUtils.toUri(file)), formattingOptions());
+			Optional<List<? extends TextEdit>> edits = LanguageServers.forDocument(document)
+					.withCapability(capabilities -> capabilities.getDocumentFormattingProvider())
+					.computeFirst(server -> server.getTextDocumentService().formatting(params))
+					.get(TIMEOUT_S, TimeUnit.SECONDS);
+			if (edits.isEmpty() || !changes(document, edits.get())) {
+				return Result.UNCHANGED;
+			}
+			var failure = new BadLocationException[1];
+			// modify the document in its synchronization context, e.g. if it's shown in an editor:
+			manager.execute(() -> {
+				try {
+					LSPEclipseUtils.applyEdits(document, edits.get());
+				} catch (BadLocationException e) {
+					failure[0] = e;
+				}
+			});
+			if (failure[0] != null) {
+				throw failure[0];
+			}
+			buffer.commit(null, false);
+			return Result.FORMATTED;
+		} finally {
+			manager.disconnect(path, LocationKind.IFILE, null);
+		}
+	}
+
+	private static boolean changes(IDocument document, List<? extends TextEdit> edits) throws BadLocationException {
+		for (var edit : edits) {
+			int offset = LSPEclipseUtils.toOffset(edit.getRange().getStart(), document);
+			int end = LSPEclipseUtils.toOffset(edit.getRange().getEnd(), document);
+			if (!document.get(offset, end - offset).equals(edit.getNewText())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static FormattingOptions formattingOptions() {
+		var store = EditorsUI.getPreferenceStore();
+		return new FormattingOptions(store.getInt(AbstractDecoratedTextEditorPreferenceConstants.EDITOR_TAB_WIDTH),
+				store.getBoolean(AbstractDecoratedTextEditorPreferenceConstants.EDITOR_SPACES_FOR_TABS));
+	}
+
+	/**
+	 * @return the C/C++ files contained in the given resources
+	 */
+	public static List<IFile> files(Collection<IResource> resources) {
+		var contentTypes = Platform.getContentTypeManager();
+		Set<IFile> files = new LinkedHashSet<>();
+		for (var resource : resources) {
+			try {
+				resource.accept(proxy -> {
+					if (proxy.getType() == IResource.FILE && !proxy.isDerived()) {
+						var contentType = contentTypes.findContentTypeFor(proxy.getName());
+						if (contentType != null && LspUtils.isCContentType(contentType.getId())) {
+							files.add((IFile) proxy.requestResource());
+						}
+					}
+					return !proxy.isDerived();
+				}, IResource.NONE);
+			} catch (CoreException e) {
+				Platform.getLog(FormatFilesJob.class).error(e.getMessage(), e);
+			}
+		}
+		return List.copyOf(files);
+	}
+
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.lsp.editor.EditorMetadata;
+import org.eclipse.cdt.lsp.internal.config.OptionValues;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OptionValuesTest {
+
+	@Test
+	@DisplayName("A memoized value shall be resolved once until invalidated")
+	void testMemoized() {
+		// GIVEN are memoized values:
+		var values = OptionValues.memoized();
+		var resolved = new AtomicInteger();
+		// WHEN a value gets read twice:
+		values.get(EditorMetadata.Predefined.formatEditedLinesGap, meta -> resolved.incrementAndGet());
+		var value = values.get(EditorMetadata.Predefined.formatEditedLinesGap, meta -> resolved.incrementAndGet());
+		// THEN it has been resolved once:
+		assertEquals(1, value);
+		assertEquals(1, resolved.get());
+		// WHEN the values get invalidated:
+		values.invalidate();
+		// THEN every read resolves again:
+		values.get(EditorMetadata.Predefined.formatEditedLinesGap, meta -> resolved.incrementAndGet());
+		value = values.get(EditorMetadata.Predefined.formatEditedLinesGap, meta -> resolved.incrementAndGet());
+		assertEquals(3, value);
+	}
+
+	@Test
+	@DisplayName("An invalidation while resolving shall not leave the resolved value memoized")
+	void testInvalidationWhileResolving() {
+		// GIVEN are memoized values:
+		var values = OptionValues.memoized();
+		// WHEN they get invalidated while a value gets resolved:
+		values.get(EditorMetadata.Predefined.formatEditedLinesGap, meta -> {
+			values.invalidate();
+			return 1;
+		});
+		// THEN the next read resolves the current value:
+		assertEquals(2, values.get(EditorMetadata.Predefined.formatEditedLinesGap, meta -> 2));
+	}
+
+	@Test
+	@DisplayName("Resolved values shall never be memoized")
+	void testResolved() {
+		var values = OptionValues.resolved();
+		values.get(EditorMetadata.Predefined.formatEditedLinesGap, meta -> 1);
+		assertEquals(2, values.get(EditorMetadata.Predefined.formatEditedLinesGap, meta -> 2));
+	}
+
+}
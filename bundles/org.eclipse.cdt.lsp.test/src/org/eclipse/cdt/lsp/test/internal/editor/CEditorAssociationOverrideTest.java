@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.editor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipse.cdt.lsp.internal.editor.CEditorAssociationOverride;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.cdt.lsp.test.TestUtils;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.content.IContentType;
+import org.eclipse.ui.part.FileEditorInput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class CEditorAssociationOverrideTest {
+	private static final String C_SOURCE = "org.eclipse.cdt.core.cSource"; //$NON-NLS-1$
+	private IProject project;
+	private IFile file;
+	private IContentType contentType;
+
+	@BeforeEach
+	public void setUp(TestInfo testInfo) throws Exception {
+		project = TestUtils.createCProject(TestUtils.getName(testInfo));
+		file = TestUtils.createFile(project, "main.c", "int main() { return 0; }"); //$NON-NLS-1$ //$NON-NLS-2$
+		contentType = Platform.getContentTypeManager().getContentType(C_SOURCE);
+	}
+
+	@AfterEach
+	public void cleanUp() throws CoreException {
+		TestUtils.deleteProject(project);
+	}
+
+	@Test
+	@DisplayName("The default editor shall follow the change of the project preference")
+	void testPreferenceChange() {
+		// GIVEN is a project which prefers the C/C++ Editor and an override which has already decided:
+		TestUtils.setLspPreferred(project, false);
+		var override = new CEditorAssociationOverride();
+		assertEquals(LspPlugin.C_EDITOR_ID, defaultEditor(override));
+		// WHEN the project switches to the LSP based C/C++ Editor:
+		TestUtils.setLspPreferred(project, true);
+		// THEN the LSP based C/C++ Editor is the default editor:
+		assertEquals(LspPlugin.LSP_C_EDITOR_ID, defaultEditor(override));
+		// WHEN the project switches back:
+		TestUtils.setLspPreferred(project, false);
+		// THEN the C/C++ Editor is the default editor again:
+		assertEquals(LspPlugin.C_EDITOR_ID, defaultEditor(override));
+	}
+
+	private String defaultEditor(CEditorAssociationOverride override) {
+		return override.overrideDefaultEditor(new FileEditorInput(file), contentType, null).getId();
+	}
+
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.editor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.lsp.internal.editor.CodanMarkerCleanup;
+import org.eclipse.cdt.lsp.test.TestUtils;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class CodanMarkerCleanupTest {
+	private IProject project;
+	private IFile file;
+
+	@BeforeEach
+	public void setUp(TestInfo testInfo) throws Exception {
+		project = TestUtils.createCProject(TestUtils.getName(testInfo));
+		file = TestUtils.createFile(project, "main.c", "int main() { return 0; }"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@AfterEach
+	public void cleanUp() throws CoreException {
+		TestUtils.deleteProject(project);
+	}
+
+	@Test
+	@DisplayName("Markers shall be removed once per enablement")
+	void testOncePerEnablement() throws Exception {
+		// GIVEN is a project with a code analysis marker:
+		var cleanup = new CodanMarkerCleanup();
+		file.createMarker(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE);
+		// WHEN the cleanup is requested several times:
+		cleanup.request(project);
+		cleanup.request(project);
+		cleanup.join();
+		// THEN the marker has been removed and the removal is recorded:
+		assertEquals(0, markers());
+		assertTrue(CodanMarkerCleanup.isCleaned(project));
+		// WHEN a marker is added and the cleanup is requested again:
+		file.createMarker(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE);
+		cleanup.request(project);
+		cleanup.join();
+		// THEN the marker is kept:
+		assertEquals(1, markers());
+		// WHEN the project gets disabled and enabled again:
+		cleanup.reset(project);
+		assertFalse(CodanMarkerCleanup.isCleaned(project));
+		cleanup.request(project);
+		cleanup.join();
+		// THEN the marker has been removed:
+		assertEquals(0, markers());
+	}
+
+	private int markers() throws CoreException {
+		return project.findMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true,
+				IResource.DEPTH_INFINITE).length;
+	}
+
+}
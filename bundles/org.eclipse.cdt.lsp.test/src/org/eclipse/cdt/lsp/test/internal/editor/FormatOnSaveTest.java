@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.editor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.eclipse.cdt.lsp.internal.editor.FormatOnSave;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FormatOnSaveTest {
+	private final IDocument document = new Document("0\n1\n2\n3\n4\n5\n6\n7\n8\n9\n"); //$NON-NLS-1$
+
+	@Test
+	@DisplayName("Regions separated by up to gap lines shall be merged")
+	void testMergeNearby() throws BadLocationException {
+		// GIVEN are edited lines 1, 3 and 8, given out of order:
+		var regions = new IRegion[] { line(8), line(1), line(3) };
+		// WHEN merging with a gap of one line:
+		var merged = FormatOnSave.mergeRegions(document, regions, 1);
+		// THEN lines 1 to 3 are one region:
+		assertArrayEquals(new IRegion[] { lines(1, 3), line(8) }, merged);
+	}
+
+	@Test
+	@DisplayName("Adjacent regions shall be merged even without gap")
+	void testMergeAdjacent() throws BadLocationException {
+		var merged = FormatOnSave.mergeRegions(document, new IRegion[] { line(2), line(3), line(5) }, 0);
+		assertArrayEquals(new IRegion[] { lines(2, 3), line(5) }, merged);
+	}
+
+	@Test
+	@DisplayName("Regions shall be kept with a negative gap")
+	void testNoMerge() throws BadLocationException {
+		var regions = new IRegion[] { line(2), line(3) };
+		assertArrayEquals(regions, FormatOnSave.mergeRegions(document, regions, -1));
+	}
+
+	private IRegion line(int line) throws BadLocationException {
+		return lines(line, line);
+	}
+
+	private IRegion lines(int first, int last) throws BadLocationException {
+		int offset = document.getLineOffset(first);
+		return new Region(offset, document.getLineOffset(last) + document.getLineLength(last) - offset);
+	}
+
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.editor;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.cdt.lsp.internal.editor.LspEditorFileImageDescriptor;
+import org.eclipse.cdt.lsp.test.TestUtils;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class LspEditorFileImageDescriptorTest {
+	private IProject project;
+
+	@BeforeEach
+	public void setUp(TestInfo testInfo) throws CoreException {
+		project = TestUtils.createCProject(TestUtils.getName(testInfo));
+	}
+
+	@AfterEach
+	public void cleanUp() throws CoreException {
+		TestUtils.deleteProject(project);
+	}
+
+	@Test
+	@DisplayName("The enablement shall follow the change of the project preference")
+	void testPreferenceChange() {
+		// GIVEN is a project which prefers the C/C++ Editor and a descriptor which has already been asked:
+		TestUtils.setLspPreferred(project, false);
+		var descriptor = new LspEditorFileImageDescriptor();
+		try {
+			assertFalse(descriptor.isEnabled(project));
+			// WHEN the project switches to the LSP based C/C++ Editor:
+			TestUtils.setLspPreferred(project, true);
+			// THEN the descriptor is enabled:
+			assertTrue(descriptor.isEnabled(project));
+			// WHEN the project switches back:
+			TestUtils.setLspPreferred(project, false);
+			// THEN the descriptor is disabled again:
+			assertFalse(descriptor.isEnabled(project));
+		} finally {
+			descriptor.dispose();
+		}
+	}
+
+}
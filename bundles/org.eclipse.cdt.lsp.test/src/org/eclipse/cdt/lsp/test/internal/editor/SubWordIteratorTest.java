@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.editor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.text.CharacterIterator;
+
+import org.eclipse.cdt.internal.ui.text.CWordIterator;
+import org.eclipse.cdt.internal.ui.text.DocumentCharacterIterator;
+import org.eclipse.cdt.lsp.internal.editor.SubWordIterator;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("restriction")
+class SubWordIteratorTest {
+	private static final String SOURCE = """
+			#include <stdio.h>
+
+			int fooBarBaz(int someValue) {
+			    return  someValue * 2;   \t
+			}
+
+
+			int main_function(void) { return fooBarBaz(21); }
+			"""; //$NON-NLS-1$
+
+	@Test
+	@DisplayName("Boundaries shall be the same as when scanning the whole document")
+	void testBoundaries() {
+		var document = new Document(SOURCE);
+		var iterator = new SubWordIterator();
+		iterator.setDocument(document);
+		assertBoundaries(document, iterator);
+	}
+
+	@Test
+	@DisplayName("Boundaries shall follow document changes")
+	void testDocumentChange() throws BadLocationException {
+		// GIVEN is an iterator that has scanned a document:
+		var document = new Document(SOURCE);
+		var iterator = new SubWordIterator();
+		iterator.setDocument(document);
+		iterator.following(SOURCE.indexOf("someValue")); //$NON-NLS-1$
+		// WHEN the document gets changed:
+		document.replace(SOURCE.indexOf("someValue"), 0, "anotherArgument, "); //$NON-NLS-1$ //$NON-NLS-2$
+		// THEN the changed text is iterated:
+		assertBoundaries(document, iterator);
+	}
+
+	private static void assertBoundaries(IDocument document, SubWordIterator iterator) {
+		var expected = new CWordIterator();
+		expected.setText((CharacterIterator) new DocumentCharacterIterator(document));
+		for (int offset = 0; offset <= document.getLength(); offset++) {
+			assertEquals(expected.following(offset), iterator.following(offset), "following " + offset); //$NON-NLS-1$
+			assertEquals(expected.preceding(offset), iterator.preceding(offset), "preceding " + offset); //$NON-NLS-1$
+		}
+	}
+
+}
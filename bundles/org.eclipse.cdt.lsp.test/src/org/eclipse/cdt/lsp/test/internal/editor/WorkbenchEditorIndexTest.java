@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.editor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.lsp.internal.editor.WorkbenchEditorIndex;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.cdt.lsp.test.TestUtils;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ui.IEditorPart;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WorkbenchEditorIndexTest {
+	private static final String EXTERNAL_HEADER_HPP = "IndexedHeader.hpp";
+	private final WorkbenchEditorIndex index = WorkbenchEditorIndex.getInstance();
+	private File externalHeaderFile;
+	private IEditorPart editor;
+	private IEditorPart editor2;
+
+	@TempDir
+	private static File TEMP_DIR;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		WorkbenchEditorIndex.start();
+		externalHeaderFile = new File(TEMP_DIR, EXTERNAL_HEADER_HPP);
+		externalHeaderFile.createNewFile();
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		if (editor != null) {
+			TestUtils.closeEditor(editor, false);
+		}
+		if (editor2 != null) {
+			TestUtils.closeEditor(editor2, false);
+		}
+		if (externalHeaderFile != null) {
+			externalHeaderFile.delete();
+		}
+	}
+
+	@Test
+	@DisplayName("Opened file shall be indexed with the editor id and removed after closing")
+	public void testIndexOpenClose() throws CoreException {
+		URI uri = externalHeaderFile.toURI();
+		// GIVEN is a header file opened in the LSP based C/C++ editor:
+		editor = TestUtils.openInEditor(uri, LspPlugin.LSP_C_EDITOR_ID);
+		// THEN the index contains the URI with the LSP editor id:
+		assertTrue(index.editorIds(uri).contains(LspPlugin.LSP_C_EDITOR_ID));
+		assertTrue(index.uris(LspPlugin.LSP_C_EDITOR_ID).contains(uri));
+		assertTrue(index.files(LspPlugin.LSP_C_EDITOR_ID).containsValue(uri));
+		// WHEN the editor gets closed:
+		TestUtils.closeEditor(editor, false);
+		editor = null;
+		// THEN the URI has been removed from the index:
+		assertTrue(index.editorIds(uri).isEmpty());
+	}
+
+	@Test
+	@DisplayName("URI opened in two windows shall stay indexed until the last editor gets closed")
+	public void testIndexTwoWindows() throws CoreException {
+		URI uri = externalHeaderFile.toURI();
+		// GIVEN is a header file opened in the LSP based C/C++ editor in two workbench windows:
+		editor = TestUtils.openInEditor(uri, LspPlugin.LSP_C_EDITOR_ID);
+		editor2 = TestUtils.openInEditorInNewWindow(uri, LspPlugin.LSP_C_EDITOR_ID);
+		// WHEN the editor in the first window gets closed:
+		TestUtils.closeEditor(editor, false);
+		editor = null;
+		// THEN the URI is still indexed:
+		assertTrue(index.editorIds(uri).contains(LspPlugin.LSP_C_EDITOR_ID));
+		// WHEN the editor in the second window gets closed:
+		TestUtils.closeEditor(editor2, false);
+		editor2 = null;
+		// THEN the URI has been removed from the index:
+		assertFalse(index.editorIds(uri).contains(LspPlugin.LSP_C_EDITOR_ID));
+	}
+
+	@Test
+	@DisplayName("Published state shall contain the active editor and be readable from non UI threads")
+	public void testStateFromNonUiThread() throws Exception {
+		URI uri = externalHeaderFile.toURI();
+		// GIVEN is a header file opened in the LSP based C/C++ editor:
+		editor = TestUtils.openInEditor(uri, LspPlugin.LSP_C_EDITOR_ID);
+		// WHEN the state is read from a non UI thread:
+		var state = CompletableFuture.supplyAsync(index::state).get(5, TimeUnit.SECONDS);
+		// THEN the LSP editor is the active editor and the URI is part of the snapshot:
+		assertEquals(LspPlugin.LSP_C_EDITOR_ID, state.activeEditorId());
+		assertTrue(state.editorIds(uri).contains(LspPlugin.LSP_C_EDITOR_ID));
+	}
+
+	@Test
+	@DisplayName("Index created from a non UI thread shall stay unknown until it gets started on the UI thread")
+	public void testCreateFromNonUiThread() throws Exception {
+		URI uri = externalHeaderFile.toURI();
+		// GIVEN is an index which gets created from a non UI thread:
+		WorkbenchEditorIndex.stop();
+		var created = CompletableFuture.supplyAsync(WorkbenchEditorIndex::getInstance).get(5, TimeUnit.SECONDS);
+		// THEN its state is not known, since it has not accessed the workbench:
+		assertFalse(created.state().isKnown());
+		// WHEN it gets started on the UI thread and a file gets opened:
+		WorkbenchEditorIndex.start();
+		editor = TestUtils.openInEditor(uri, LspPlugin.LSP_C_EDITOR_ID);
+		// THEN the file is indexed:
+		assertTrue(created.state().isKnown());
+		assertTrue(created.editorIds(uri).contains(LspPlugin.LSP_C_EDITOR_ID));
+	}
+
+	@Test
+	@DisplayName("Started index shall publish a known state, even without opened editors")
+	public void testStartedIsKnown() {
+		// GIVEN is a started index:
+		// THEN its state is known:
+		assertTrue(index.state().isKnown());
+	}
+
+	@Test
+	@DisplayName("Unknown URI shall not be indexed")
+	public void testUnknownUri() {
+		assertTrue(index.editorIds(null).isEmpty());
+		assertTrue(index.editorIds(new File(TEMP_DIR, "unknown.h").toURI()).isEmpty());
+	}
+
+}
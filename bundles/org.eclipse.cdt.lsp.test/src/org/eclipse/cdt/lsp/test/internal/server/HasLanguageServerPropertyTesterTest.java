@@ -18,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.File;
 import java.io.IOException;
 
+import org.eclipse.cdt.lsp.internal.editor.WorkbenchEditorIndex;
 import org.eclipse.cdt.lsp.internal.server.HasLanguageServerPropertyTester;
 import org.eclipse.cdt.lsp.plugin.LspPlugin;
 import org.eclipse.cdt.lsp.test.TestUtils;
@@ -56,16 +57,17 @@ class HasLanguageServerPropertyTesterTest {
 	}
 
 	/**
-	 * Tests whether LS enable test returns true for an external file when no (LSP) editor is opened.
+	 * Tests whether LS enable test returns false for an external file when no (LSP) editor is opened.
 	 * @throws IOException
 	 */
 	@Test
 	public void testLsNotEnabledForExternalFile_NoEditorOpen() throws CoreException, IOException {
 		//GIVEN is an external file which is not opened:
 		externalFile = new File(TEMP_DIR, EXTERNAL_HEADER_HPP);
-		//WHEN the file is not opened,
-		//THEN the hasLanguageServerPropertyTester.test returns TRUE for the given file URI:
-		assertTrue(new HasLanguageServerPropertyTester().test(externalFile.toURI(), null, null, null));
+		//WHEN the file is not opened and the editor index knows that no editor is opened,
+		WorkbenchEditorIndex.start();
+		//THEN the hasLanguageServerPropertyTester.test returns FALSE for the given file URI:
+		assertFalse(new HasLanguageServerPropertyTester().test(externalFile.toURI(), null, null, null));
 	}
 
 	/**
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.lsp.internal.services.CachedAstProvider;
+import org.eclipse.cdt.lsp.services.ast.AstNode;
+import org.eclipse.cdt.lsp.services.ast.CompactAst;
+import org.eclipse.cdt.lsp.test.TestUtils;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class CachedAstProviderTest {
+	private static final String CONTENT = "void f() {\n{\n    g();\n}\n}\n"; //$NON-NLS-1$
+	private static final Range FUNCTION = range(0, 0, 4, 1);
+	private static final Range CALL = range(2, 4, 2, 7);
+
+	private IProject project;
+	private IFile file;
+	private IDocument document;
+	private final AtomicInteger requests = new AtomicInteger();
+	private CachedAstProvider provider;
+
+	@BeforeEach
+	public void setUp(TestInfo testInfo) throws Exception {
+		project = TestUtils.createCProject(TestUtils.getName(testInfo));
+		file = TestUtils.createFile(project, "main.cpp", CONTENT); //$NON-NLS-1$
+		document = connect(file);
+		provider = new CachedAstProvider(100, (document, params) -> {
+			requests.incrementAndGet();
+			return CompletableFuture.completedFuture(Optional.of(function()));
+		});
+		provider.activate();
+	}
+
+	@AfterEach
+	public void cleanUp() throws CoreException {
+		provider.deactivate();
+		disconnect(file);
+		TestUtils.deleteProject(project);
+	}
+
+	@Test
+	@DisplayName("A range enclosed by a cached subtree shall be answered from the cache")
+	void testCache() {
+		// GIVEN is the cached subtree of a function:
+		assertEquals("FunctionDecl", provider.getAst(document, FUNCTION).join().get().getKind()); //$NON-NLS-1$
+		// WHEN a range within the function is requested:
+		var ast = provider.getAst(document, CALL).join();
+		// THEN the deepest enclosing node is returned without asking the language server again:
+		assertEquals("CallExpr", ast.get().getKind()); //$NON-NLS-1$
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	@DisplayName("Concurrent requests for an enclosed range shall share one request")
+	void testCoalescing() {
+		// GIVEN is a running request for a function:
+		var response = new CompletableFuture<Optional<CompactAst>>();
+		var pending = new CachedAstProvider(100, (document, params) -> {
+			requests.incrementAndGet();
+			return response;
+		});
+		var function = pending.getAst(document, FUNCTION);
+		// WHEN a range within the function is requested meanwhile:
+		var call = pending.getAst(document, CALL);
+		// THEN no further request is sent:
+		assertEquals(1, requests.get());
+		// AND both get answered by the response:
+		response.complete(Optional.of(function()));
+		assertEquals("FunctionDecl", function.join().get().getKind()); //$NON-NLS-1$
+		assertEquals("CallExpr", call.join().get().getKind()); //$NON-NLS-1$
+		// AND cancelling one of them doesn't cancel the shared request:
+		var response2 = new CompletableFuture<Optional<CompactAst>>();
+		var cancelled = new CachedAstProvider(100, (document, params) -> response2);
+		cancelled.getAst(document, FUNCTION).cancel(true);
+		assertFalse(response2.isCancelled());
+	}
+
+	@Test
+	@DisplayName("A document change shall invalidate the cached subtrees")
+	void testDocumentChange() throws BadLocationException {
+		// GIVEN is a cached subtree:
+		provider.getAst(document, FUNCTION).join();
+		// WHEN the document changes:
+		document.replace(0, 0, " "); //$NON-NLS-1$
+		provider.getAst(document, FUNCTION).join();
+		// THEN the language server gets asked again:
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	@DisplayName("The least recently used document shall be evicted when the node limit is exceeded")
+	void testEviction() throws Exception {
+		// GIVEN is a cache which holds the trees of one document only, with the tree of a first document:
+		var small = new CachedAstProvider(3, (document, params) -> {
+			requests.incrementAndGet();
+			return CompletableFuture.completedFuture(Optional.of(function()));
+		});
+		small.getAst(document, FUNCTION).join();
+		// WHEN the tree of a second document gets cached:
+		var other = TestUtils.createFile(project, "other.cpp", CONTENT); //$NON-NLS-1$
+		try {
+			small.getAst(connect(other), FUNCTION).join();
+		} finally {
+			disconnect(other);
+		}
+		// THEN the first document has been evicted:
+		small.getAst(document, FUNCTION).join();
+		assertEquals(3, requests.get());
+	}
+
+	@Test
+	@DisplayName("The subtrees of a document shall be dropped when its file buffer gets disposed")
+	void testBufferDisposed() throws CoreException {
+		// GIVEN is a cached subtree:
+		provider.getAst(document, FUNCTION).join();
+		// WHEN the file buffer gets disposed and connected again:
+		disconnect(file);
+		document = connect(file);
+		provider.getAst(document, FUNCTION).join();
+		// THEN the language server gets asked again:
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	@DisplayName("An empty response shall not be cached")
+	void testEmptyResponse() {
+		var empty = new CachedAstProvider(100, (document, params) -> {
+			requests.incrementAndGet();
+			return CompletableFuture.completedFuture(Optional.empty());
+		});
+		assertTrue(empty.getAst(document, FUNCTION).join().isEmpty());
+		assertTrue(empty.getAst(document, FUNCTION).join().isEmpty());
+		assertEquals(2, requests.get());
+	}
+
+	private static IDocument connect(IFile file) throws CoreException {
+		var bufferManager = FileBuffers.getTextFileBufferManager();
+		bufferManager.connect(file.getFullPath(), LocationKind.IFILE, null);
+		return bufferManager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE).getDocument();
+	}
+
+	private static void disconnect(IFile file) throws CoreException {
+		FileBuffers.getTextFileBufferManager().disconnect(file.getFullPath(), LocationKind.IFILE, null);
+	}
+
+	/**
+	 * @return a function with a compound statement containing a call
+	 */
+	private static CompactAst function() {
+		var call = node("CallExpr", CALL); //$NON-NLS-1$
+		var statement = node("CompoundStmt", range(1, 0, 3, 1), call); //$NON-NLS-1$
+		return CompactAst.of(node("FunctionDecl", FUNCTION, statement)); //$NON-NLS-1$
+	}
+
+	private static AstNode node(String kind, Range range, AstNode... children) {
+		var node = new AstNode();
+		node.setRole("statement"); //$NON-NLS-1$
+		node.setKind(kind);
+		node.setRange(range);
+		node.setChildren(children);
+		return node;
+	}
+
+	private static Range range(int startLine, int startCharacter, int endLine, int endCharacter) {
+		return new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter));
+	}
+
+}
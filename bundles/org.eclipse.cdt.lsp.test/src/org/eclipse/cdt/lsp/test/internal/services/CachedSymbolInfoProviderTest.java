@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.eclipse.cdt.lsp.internal.services.CachedSymbolInfoProvider;
+import org.eclipse.cdt.lsp.internal.services.CachedSymbolInfoProvider.SymbolInfoRequester;
+import org.eclipse.cdt.lsp.services.symbolinfo.SymbolDetails;
+import org.eclipse.cdt.lsp.test.TestUtils;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class CachedSymbolInfoProviderTest {
+	private static final int LINES = 20;
+
+	private IProject project;
+	private IFile file;
+	private IDocument document;
+
+	@BeforeEach
+	public void setUp(TestInfo testInfo) throws Exception {
+		project = TestUtils.createCProject(TestUtils.getName(testInfo));
+		file = TestUtils.createFile(project, "main.cpp", "int a;\n".repeat(LINES)); //$NON-NLS-1$ //$NON-NLS-2$
+		var bufferManager = FileBuffers.getTextFileBufferManager();
+		bufferManager.connect(file.getFullPath(), LocationKind.IFILE, null);
+		document = bufferManager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE).getDocument();
+	}
+
+	@AfterEach
+	public void cleanUp() throws CoreException {
+		FileBuffers.getTextFileBufferManager().disconnect(file.getFullPath(), LocationKind.IFILE, null);
+		TestUtils.deleteProject(project);
+	}
+
+	@Test
+	@DisplayName("Requested positions shall be cached until the document changes")
+	void testCache() throws BadLocationException {
+		// GIVEN is a provider which has already requested two positions:
+		var requests = new AtomicInteger();
+		var provider = provider(params -> {
+			requests.incrementAndGet();
+			return CompletableFuture.completedFuture(new SymbolDetails[] { details("c:@a") }); //$NON-NLS-1$
+		});
+		var positions = positions(2);
+		provider.getSymbolInfo(document, positions).join();
+		assertEquals(2, requests.get());
+		// WHEN the same positions are requested again:
+		var result = provider.getSymbolInfo(document, positions).join();
+		// THEN the language server isn't asked again:
+		assertEquals(2, requests.get());
+		assertEquals(2, result.size());
+		// WHEN the document changes:
+		document.replace(0, 0, " "); //$NON-NLS-1$
+		provider.getSymbolInfo(document, positions).join();
+		// THEN the positions are requested again:
+		assertEquals(4, requests.get());
+	}
+
+	@Test
+	@DisplayName("Symbols with the same USR shall be returned as one instance")
+	void testDeduplicate() {
+		// GIVEN is a language server, which returns a new instance for every request:
+		var provider = provider(params -> CompletableFuture.completedFuture(new SymbolDetails[] { details("c:@a") })); //$NON-NLS-1$
+		// WHEN two positions are requested:
+		var positions = positions(2);
+		var result = provider.getSymbolInfo(document, positions).join();
+		// THEN both positions refer to the same symbol instance:
+		assertSame(result.get(positions.get(0)).get(0), result.get(positions.get(1)).get(0));
+	}
+
+	@Test
+	@DisplayName("The number of requests in flight shall be limited over all batches")
+	void testConcurrencyLimit() {
+		// GIVEN is a language server, which doesn't answer yet:
+		var inFlight = new ArrayList<CompletableFuture<SymbolDetails[]>>();
+		var provider = provider(params -> {
+			var response = new CompletableFuture<SymbolDetails[]>();
+			inFlight.add(response);
+			return response;
+		});
+		// WHEN two batches of six positions each are requested:
+		var positions = positions(12);
+		var first = provider.getSymbolInfo(document, positions.subList(0, 6));
+		var second = provider.getSymbolInfo(document, positions.subList(6, 12));
+		// THEN only eight requests are sent:
+		assertEquals(8, inFlight.size());
+		// WHEN one request completes:
+		inFlight.get(0).complete(new SymbolDetails[0]);
+		// THEN the next one gets sent:
+		assertEquals(9, inFlight.size());
+		// WHEN all requests complete:
+		for (int i = 1; i < inFlight.size(); i++) {
+			inFlight.get(i).complete(new SymbolDetails[0]);
+		}
+		// THEN both batches are done:
+		assertEquals(12, inFlight.size());
+		assertTrue(first.isDone());
+		assertTrue(second.isDone());
+	}
+
+	@Test
+	@DisplayName("A failed request shall not be cached")
+	void testFailureNotCached() {
+		// GIVEN is a language server, which fails the first request:
+		var requests = new AtomicInteger();
+		var provider = provider(params -> requests.incrementAndGet() == 1
+				? CompletableFuture.failedFuture(new IllegalStateException())
+				: CompletableFuture.completedFuture(new SymbolDetails[0]));
+		var positions = positions(1);
+		assertTrue(provider.getSymbolInfo(document, positions).isCompletedExceptionally());
+		// WHEN the position is requested again:
+		var result = provider.getSymbolInfo(document, positions);
+		// THEN it is sent again and succeeds:
+		assertEquals(2, requests.get());
+		assertFalse(result.isCompletedExceptionally());
+	}
+
+	private static CachedSymbolInfoProvider provider(SymbolInfoRequester server) {
+		return new CachedSymbolInfoProvider(document -> CompletableFuture.completedFuture(Optional.of(server)));
+	}
+
+	private static List<Position> positions(int count) {
+		return IntStream.range(0, count).mapToObj(line -> new Position(line, 4)).toList();
+	}
+
+	private static SymbolDetails details(String usr) {
+		var details = new SymbolDetails();
+		details.setName("a"); //$NON-NLS-1$
+		details.setContainerName(""); //$NON-NLS-1$
+		details.setUsr(usr);
+		return details;
+	}
+
+}
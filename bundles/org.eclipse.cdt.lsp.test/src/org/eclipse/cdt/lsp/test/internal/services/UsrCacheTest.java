@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+
+import org.eclipse.cdt.lsp.internal.services.UsrCache;
+import org.eclipse.cdt.lsp.services.symbolinfo.RangeAndUri;
+import org.eclipse.cdt.lsp.services.symbolinfo.SymbolDetails;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UsrCacheTest {
+
+	@Test
+	@DisplayName("Symbol shall be found by its USR and counted as hit")
+	void testGet() {
+		var cache = new UsrCache(10);
+		var details = details("c:@F@foo#", "file:///a.h"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put(details);
+		assertSame(details, cache.get("c:@F@foo#").get()); //$NON-NLS-1$
+		assertFalse(cache.get("c:@F@bar#").isPresent()); //$NON-NLS-1$
+		var statistics = cache.statistics();
+		assertEquals(1, statistics.hits());
+		assertEquals(1, statistics.misses());
+		assertEquals(1, statistics.size());
+	}
+
+	@Test
+	@DisplayName("Symbols declared in a changed document shall be invalidated")
+	void testInvalidate() {
+		// GIVEN are symbols declared in two headers:
+		var cache = new UsrCache(10);
+		cache.put(details("c:@F@foo#", "file:///a.h")); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put(details("c:@F@bar#", "file:///b.h")); //$NON-NLS-1$ //$NON-NLS-2$
+		// WHEN the first header changes, which Eclipse identifies with a single slash URI:
+		cache.invalidate(URI.create("file:/a.h")); //$NON-NLS-1$
+		// THEN only its symbol is dropped:
+		assertFalse(cache.get("c:@F@foo#").isPresent()); //$NON-NLS-1$
+		assertTrue(cache.get("c:@F@bar#").isPresent()); //$NON-NLS-1$
+	}
+
+	@Test
+	@DisplayName("Least recently used symbol shall be evicted when the size limit is exceeded")
+	void testSizeLimit() {
+		var cache = new UsrCache(2);
+		cache.put(details("a", "file:///a.h")); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put(details("b", "file:///a.h")); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.get("a"); //$NON-NLS-1$
+		cache.put(details("c", "file:///a.h")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(cache.get("a").isPresent()); //$NON-NLS-1$
+		assertFalse(cache.get("b").isPresent()); //$NON-NLS-1$
+		assertEquals(1, cache.statistics().evictions());
+	}
+
+	private static SymbolDetails details(String usr, String declaration) {
+		var range = new RangeAndUri();
+		range.setRange(new Range(new Position(1, 0), new Position(1, 3)));
+		range.setUri(declaration);
+		var details = new SymbolDetails();
+		details.setName(usr);
+		details.setContainerName(""); //$NON-NLS-1$
+		details.setUsr(usr);
+		details.setDeclarationRange(range);
+		return details;
+	}
+
+}
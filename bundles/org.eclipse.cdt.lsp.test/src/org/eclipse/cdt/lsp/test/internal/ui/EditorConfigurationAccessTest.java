@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.eclipse.cdt.lsp.LspQualifier;
+import org.eclipse.cdt.lsp.editor.EditorConfiguration;
+import org.eclipse.cdt.lsp.editor.EditorMetadata;
+import org.eclipse.cdt.lsp.test.TestUtils;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.ui.PlatformUI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class EditorConfigurationAccessTest {
+	private IProject project;
+	private EditorConfiguration configuration;
+
+	@BeforeEach
+	void create(TestInfo info) throws CoreException {
+		project = TestUtils.createCProject(TestUtils.getName(info));
+		project.open(new NullProgressMonitor());
+		configuration = PlatformUI.getWorkbench().getService(EditorConfiguration.class);
+	}
+
+	@AfterEach
+	void delete() throws CoreException {
+		TestUtils.deleteProject(project);
+	}
+
+	@Test
+	@DisplayName("Options shall be reused until a project preference changes")
+	void testProjectPreferenceChange() {
+		// GIVEN are the options of a project:
+		var options = configuration.options(project);
+		var formatOnSave = options.formatOnSave();
+		assertSame(options, configuration.options(project));
+		// WHEN a project preference gets changed:
+		configuration.storage(project).save(!formatOnSave, EditorMetadata.Predefined.formatOnSave);
+		// THEN new options with the changed value are returned:
+		var changed = configuration.options(project);
+		assertNotSame(options, changed);
+		assertEquals(!formatOnSave, changed.formatOnSave());
+		// AND the options still held by a client see the changed value as well:
+		assertEquals(!formatOnSave, options.formatOnSave());
+	}
+
+	@Test
+	@DisplayName("Project options shall be invalidated by a workspace preference change")
+	void testInstancePreferenceChange() {
+		var node = InstanceScope.INSTANCE.getNode(new LspQualifier().get());
+		var key = EditorMetadata.Predefined.formatEditedLines.identifer();
+		try {
+			// GIVEN are the options of a project:
+			var options = configuration.options(project);
+			var formatEditedLines = options.formatEditedLines();
+			// WHEN the workspace preference gets changed:
+			node.putBoolean(key, !formatEditedLines);
+			// THEN the project options see the changed value:
+			assertEquals(!formatEditedLines, configuration.options(project).formatEditedLines());
+		} finally {
+			node.remove(key);
+		}
+	}
+
+}
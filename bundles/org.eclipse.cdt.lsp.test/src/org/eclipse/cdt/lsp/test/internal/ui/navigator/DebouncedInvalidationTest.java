@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.ui.navigator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.cdt.lsp.internal.ui.navigator.DebouncedInvalidation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DebouncedInvalidationTest {
+	private static final long QUIET_PERIOD_MS = 100;
+	private static final URI A = URI.create("file:///a.cpp"); //$NON-NLS-1$
+	private static final URI B = URI.create("file:///b.cpp"); //$NON-NLS-1$
+
+	@Test
+	@DisplayName("Changes within the quiet period shall invalidate the document once with its last version")
+	void testDebounce() throws InterruptedException {
+		// GIVEN is a document which gets changed several times in a row:
+		var invalidated = new CopyOnWriteArrayList<Long>();
+		var invalidation = new DebouncedInvalidation(QUIET_PERIOD_MS, (uri, version) -> invalidated.add(version));
+		for (long version = 1; version <= 5; version++) {
+			invalidation.schedule(A, version);
+		}
+		// WHEN the quiet period has passed:
+		awaitQuietPeriod(() -> !invalidated.isEmpty());
+		// THEN the document has been invalidated once with the last version:
+		assertEquals(List.of(5L), invalidated);
+	}
+
+	@Test
+	@DisplayName("Each document shall be invalidated on its own")
+	void testDocuments() throws InterruptedException {
+		// GIVEN are two changed documents:
+		Map<URI, Long> invalidated = new ConcurrentHashMap<>();
+		var invalidation = new DebouncedInvalidation(QUIET_PERIOD_MS, invalidated::put);
+		invalidation.schedule(A, 1);
+		invalidation.schedule(B, 2);
+		// WHEN the quiet period has passed:
+		awaitQuietPeriod(() -> invalidated.size() == 2);
+		// THEN both documents have been invalidated:
+		assertEquals(Map.of(A, 1L, B, 2L), invalidated);
+	}
+
+	@Test
+	@DisplayName("Disposing shall cancel the pending invalidations")
+	void testDispose() throws InterruptedException {
+		// GIVEN is a changed document:
+		var invalidated = new CopyOnWriteArrayList<URI>();
+		var invalidation = new DebouncedInvalidation(QUIET_PERIOD_MS, (uri, version) -> invalidated.add(uri));
+		invalidation.schedule(A, 1);
+		// WHEN the invalidation gets disposed before the quiet period has passed:
+		invalidation.dispose();
+		awaitQuietPeriod(() -> false);
+		// THEN the document is not invalidated:
+		assertTrue(invalidated.isEmpty());
+	}
+
+	/**
+	 * Waits until the condition holds, at most some quiet periods, and for one more quiet period afterwards to
+	 * detect superfluous invalidations.
+	 */
+	private static void awaitQuietPeriod(BooleanSupplier condition) throws InterruptedException {
+		var deadline = System.currentTimeMillis() + 20 * QUIET_PERIOD_MS;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Thread.sleep(2 * QUIET_PERIOD_MS);
+	}
+
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.ui.navigator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.eclipse.cdt.lsp.internal.ui.navigator.PersistentSymbolsCache;
+import org.eclipse.cdt.lsp.internal.ui.navigator.PersistentSymbolsCache.FileStamp;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentSymbolsCacheTest {
+
+	@TempDir
+	private File tempDir;
+
+	@Test
+	@DisplayName("Persisted symbols shall be read as long as the file is unchanged")
+	void testRoundTrip() throws IOException {
+		// GIVEN is a source file with persisted symbols:
+		var source = new File(tempDir, "main.cpp"); //$NON-NLS-1$
+		Files.writeString(source.toPath(), "struct S { int x; };"); //$NON-NLS-1$
+		var uri = source.toURI();
+		var cache = new PersistentSymbolsCache(new File(tempDir, "symbols").toPath()); //$NON-NLS-1$
+		var range = new Range(new Position(0, 0), new Position(0, 20));
+		var member = new DocumentSymbol("x", SymbolKind.Field, range, range, "int"); //$NON-NLS-1$ //$NON-NLS-2$
+		var struct = new DocumentSymbol("S", SymbolKind.Struct, range, range, null, List.of(member)); //$NON-NLS-1$
+		cache.write(uri, FileStamp.of(uri).get(), List.of(struct));
+		// WHEN the symbols are read:
+		var symbols = cache.read(uri).get();
+		// THEN the symbol tree is restored:
+		assertEquals(1, symbols.size());
+		assertEquals("S", symbols.get(0).getName()); //$NON-NLS-1$
+		assertEquals(SymbolKind.Struct, symbols.get(0).getKind());
+		assertEquals(range, symbols.get(0).getRange());
+		assertEquals("x", symbols.get(0).getChildren().get(0).getName()); //$NON-NLS-1$
+		assertEquals("int", symbols.get(0).getChildren().get(0).getDetail()); //$NON-NLS-1$
+		// WHEN the file gets modified:
+		Files.writeString(source.toPath(), "struct S { int x; int y; };"); //$NON-NLS-1$
+		// THEN the persisted symbols are outdated and have been evicted:
+		assertTrue(cache.read(uri).isEmpty());
+		assertEquals(0, entries());
+	}
+
+	@Test
+	@DisplayName("Pruning shall evict the symbols of deleted and modified files only")
+	void testPrune() throws IOException {
+		// GIVEN are persisted symbols of three source files:
+		var cache = new PersistentSymbolsCache(new File(tempDir, "symbols").toPath()); //$NON-NLS-1$
+		var unchanged = persist(cache, "unchanged.cpp"); //$NON-NLS-1$
+		var deleted = persist(cache, "deleted.cpp"); //$NON-NLS-1$
+		var modified = persist(cache, "modified.cpp"); //$NON-NLS-1$
+		assertEquals(3, entries());
+		// WHEN one file gets deleted, another one modified, and the cache gets pruned:
+		Files.delete(deleted.toPath());
+		Files.writeString(modified.toPath(), "int modified;"); //$NON-NLS-1$
+		cache.prune();
+		// THEN only the symbols of the unchanged file are left:
+		assertEquals(1, entries());
+		assertTrue(cache.read(unchanged.toURI()).isPresent());
+	}
+
+	private File persist(PersistentSymbolsCache cache, String name) throws IOException {
+		var source = new File(tempDir, name);
+		Files.writeString(source.toPath(), "int x;"); //$NON-NLS-1$
+		var range = new Range(new Position(0, 0), new Position(0, 6));
+		var symbol = new DocumentSymbol("x", SymbolKind.Variable, range, range); //$NON-NLS-1$
+		cache.write(source.toURI(), FileStamp.of(source.toURI()).get(), List.of(symbol));
+		return source;
+	}
+
+	private long entries() throws IOException {
+		try (var entries = Files.list(new File(tempDir, "symbols").toPath())) { //$NON-NLS-1$
+			return entries.count();
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.ui.navigator;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.cdt.lsp.internal.ui.navigator.SharedSymbolsRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SharedSymbolsRequestTest {
+
+	@Test
+	@DisplayName("Cancelling one waiter shall not cancel the request of the other waiters")
+	void testCancelOneWaiter() {
+		// GIVEN is a request with two waiters:
+		var request = new SharedSymbolsRequest();
+		var first = request.join().get();
+		var second = request.join().get();
+		// WHEN the first waiter gets cancelled:
+		first.cancel(true);
+		// THEN the request and the second waiter are still pending:
+		assertFalse(request.isCancelled());
+		assertFalse(second.isDone());
+		// WHEN the request completes:
+		request.result().complete(null);
+		// THEN the second waiter completes normally:
+		assertTrue(second.isDone());
+		assertFalse(second.isCompletedExceptionally());
+	}
+
+	@Test
+	@DisplayName("Collapsing and re-expanding shall not hand out the cancelled request")
+	void testCollapseThenReexpand() {
+		// GIVEN is a request and a language server request sent for it:
+		var request = new SharedSymbolsRequest();
+		var waiter = request.join().get();
+		var languageServerRequest = new CompletableFuture<>();
+		request.setLanguageServerRequest(languageServerRequest);
+		// WHEN the only waiter gets cancelled, e.g. by collapsing the node:
+		waiter.cancel(true);
+		// THEN the request and the language server request are cancelled:
+		assertTrue(request.isCancelled());
+		assertTrue(languageServerRequest.isCancelled());
+		// AND a re-expansion doesn't get the cancelled request:
+		assertTrue(request.join().isEmpty());
+	}
+
+	@Test
+	@DisplayName("A language server request sent after the cancellation shall be cancelled")
+	void testLateLanguageServerRequest() {
+		// GIVEN is a cancelled request:
+		var request = new SharedSymbolsRequest();
+		request.join().get().cancel(true);
+		// WHEN the language server request is sent afterwards:
+		var languageServerRequest = new CompletableFuture<>();
+		request.setLanguageServerRequest(languageServerRequest);
+		// THEN it gets cancelled:
+		assertTrue(languageServerRequest.isCancelled());
+	}
+
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.ui.navigator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.eclipse.cdt.lsp.internal.ui.navigator.SymbolPages;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SymbolPagesTest {
+
+	@Test
+	@DisplayName("Refreshed children shall keep the materialized pages and the next page element")
+	void testRefreshKeepsPages() {
+		// GIVEN are two of three pages shown:
+		var pages = new SymbolPages(this, children(25), 10);
+		pages.visible();
+		pages.nextPage();
+		var nextPage = pages.nextPageElement();
+		assertNotNull(nextPage);
+		// WHEN a child gets added:
+		var shown = pages.refresh(children(26));
+		// THEN the first two pages stay shown, followed by the same next page element:
+		assertArrayEquals(IntStream.range(0, 20).mapToObj(Integer::valueOf).toArray(), shown);
+		assertSame(nextPage, pages.nextPageElement());
+	}
+
+	@Test
+	@DisplayName("Refreshed children which fit on the shown pages shall drop the next page element")
+	void testRefreshShowsAll() {
+		// GIVEN is the first page shown:
+		var pages = new SymbolPages(this, children(15), 10);
+		pages.visible();
+		// WHEN children get removed:
+		var shown = pages.refresh(children(8));
+		// THEN all children are shown:
+		assertArrayEquals(children(8), shown);
+		assertNull(pages.nextPageElement());
+	}
+
+	@Test
+	@DisplayName("The prefetched page shall be shown next and its children shall be handed out once")
+	void testPrefetch() {
+		// GIVEN is the first page shown:
+		var children = children(25);
+		var pages = new SymbolPages(this, children, 10);
+		pages.visible();
+		// WHEN the next page gets prefetched:
+		var computed = new AtomicInteger();
+		pages.prefetch(element -> {
+			computed.incrementAndGet();
+			return new Object[] { element };
+		});
+		// THEN the children of the second page have been computed once:
+		assertEquals(10, computed.get());
+		assertArrayEquals(new Object[] { children[10] }, pages.prefetchedChildren(children[10]));
+		assertNull(pages.prefetchedChildren(children[10]));
+		assertNull(pages.prefetchedChildren(children[0]));
+		// AND the second page is the prefetched one:
+		assertArrayEquals(IntStream.range(10, 20).mapToObj(Integer::valueOf).toArray(), pages.nextPage());
+	}
+
+	private static Object[] children(int count) {
+		return IntStream.range(0, count).mapToObj(Integer::valueOf).toArray();
+	}
+
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.ui.navigator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.cdt.lsp.internal.ui.navigator.SymbolTreeDiff;
+import org.eclipse.cdt.lsp.internal.ui.navigator.SymbolTreeDiff.Insert;
+import org.eclipse.cdt.lsp.internal.ui.navigator.SymbolTreeDiff.Remove;
+import org.eclipse.cdt.lsp.internal.ui.navigator.SymbolTreeDiff.Replace;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SymbolTreeDiffTest {
+
+	@Test
+	@DisplayName("Equal symbols shall not produce changes")
+	void testUnchanged() {
+		Object[] symbols = { symbol("foo", 1), symbol("bar", 2) }; //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(SymbolTreeDiff.compute(symbols, new Object[] { symbol("foo", 1), symbol("bar", 2) }).isEmpty()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	@DisplayName("Added, removed and moved symbols shall produce minimal changes with removals first")
+	void testChanges() {
+		// GIVEN are the symbols foo, bar and baz:
+		var foo = symbol("foo", 1); //$NON-NLS-1$
+		var bar = symbol("bar", 2); //$NON-NLS-1$
+		var baz = symbol("baz", 3); //$NON-NLS-1$
+		// WHEN bar gets removed, baz gets moved and qux gets added:
+		var movedBaz = symbol("baz", 4); //$NON-NLS-1$
+		var qux = symbol("qux", 5); //$NON-NLS-1$
+		var changes = SymbolTreeDiff.compute(new Object[] { foo, bar, baz }, new Object[] { foo, movedBaz, qux });
+		// THEN foo is untouched:
+		assertEquals(List.of(new Remove(bar), new Replace(baz, movedBaz, 1), new Insert(qux, 2)), changes);
+	}
+
+	@Test
+	@DisplayName("Overloads shall be matched in order of their occurrence")
+	void testOverloads() {
+		var first = symbol("foo", 1); //$NON-NLS-1$
+		var second = symbol("foo", 2); //$NON-NLS-1$
+		var matches = SymbolTreeDiff.match(new Object[] { first, second },
+				new Object[] { symbol("foo", 1), symbol("foo", 3) }); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of(first, second), List.copyOf(matches.values()));
+	}
+
+	private static SymbolInformation symbol(String name, int line) {
+		var range = new Range(new Position(line, 0), new Position(line, 10));
+		return new SymbolInformation(name, SymbolKind.Function, new Location("file:///test.cpp", range)); //$NON-NLS-1$
+	}
+
+}
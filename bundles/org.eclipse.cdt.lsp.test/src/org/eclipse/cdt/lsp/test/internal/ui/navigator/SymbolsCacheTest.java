@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.ui.navigator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.lsp.internal.ui.navigator.SymbolsCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SymbolsCacheTest {
+	private static final URI A = URI.create("file:///a.cpp"); //$NON-NLS-1$
+	private static final URI B = URI.create("file:///b.cpp"); //$NON-NLS-1$
+	private static final URI C = URI.create("file:///c.cpp"); //$NON-NLS-1$
+
+	@Test
+	@DisplayName("Cached value shall be returned and counted as hit")
+	void testHitMiss() {
+		var cache = new SymbolsCache<Object>(10, 100);
+		var value = cache.get(A, uri -> new Object());
+		assertSame(value, cache.get(A, uri -> new Object()));
+		var statistics = cache.statistics();
+		assertEquals(1, statistics.hits());
+		assertEquals(1, statistics.misses());
+		assertEquals(1, statistics.size());
+	}
+
+	@Test
+	@DisplayName("Least recently used entry shall be evicted when the size limit is exceeded")
+	void testSizeLimit() {
+		// GIVEN is a cache with two entries where A has been used last:
+		var cache = new SymbolsCache<Object>(2, 100);
+		cache.get(A, uri -> new Object());
+		cache.get(B, uri -> new Object());
+		cache.get(A, uri -> new Object());
+		// WHEN a third entry gets added:
+		cache.get(C, uri -> new Object());
+		// THEN B has been evicted:
+		assertTrue(cache.peek(A).isPresent());
+		assertFalse(cache.peek(B).isPresent());
+		assertTrue(cache.peek(C).isPresent());
+		assertEquals(1, cache.statistics().evictions());
+	}
+
+	@Test
+	@DisplayName("Least recently used entries shall be evicted when the weight limit is exceeded")
+	void testWeightLimit() {
+		// GIVEN is a cache with two light entries:
+		var cache = new SymbolsCache<Object>(10, 100);
+		var a = cache.get(A, uri -> new Object());
+		var b = cache.get(B, uri -> new Object());
+		cache.updateWeight(A, a, 40);
+		// WHEN B gets heavy:
+		cache.updateWeight(B, b, 80);
+		// THEN A has been evicted and B is kept:
+		assertFalse(cache.peek(A).isPresent());
+		assertSame(b, cache.peek(B).get());
+		assertEquals(80, cache.statistics().weight());
+	}
+
+	@Test
+	@DisplayName("Evicted entries shall be reported")
+	void testEvictionListener() {
+		// GIVEN is a cache for two entries, which reports evictions:
+		var evicted = new ArrayList<URI>();
+		var cache = new SymbolsCache<Object>(2, 100, evicted::add);
+		cache.get(A, uri -> new Object());
+		cache.get(B, uri -> new Object());
+		// WHEN a third entry gets added:
+		cache.get(C, uri -> new Object());
+		// THEN the least recently used entry has been reported:
+		assertEquals(List.of(A), evicted);
+	}
+
+}
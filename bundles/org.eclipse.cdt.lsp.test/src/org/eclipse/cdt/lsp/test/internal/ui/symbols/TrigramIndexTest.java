@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.ui.symbols;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.cdt.lsp.internal.ui.symbols.TrigramIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+	@Test
+	@DisplayName("Items containing the query shall be found ignoring case")
+	void testSubstringQuery() {
+		var index = new TrigramIndex<String>(10);
+		index.add("getValue", "a"); //$NON-NLS-1$ //$NON-NLS-2$
+		index.add("setValue", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		index.add("valueOf", "c"); //$NON-NLS-1$ //$NON-NLS-2$
+		index.add("reset", "d"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("a", "b", "c"), index.query("VALUE", 10).stream().sorted().toList()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		// 'set' and 'eva' are contained in 'setValue' only:
+		assertEquals(List.of("b"), index.query("setva", 10)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(index.query("xyz", 10).isEmpty()); //$NON-NLS-1$
+	}
+
+	@Test
+	@DisplayName("Items shall be returned in order of their insertion")
+	void testInsertionOrder() {
+		// GIVEN are items added in an order which differs from their hash order:
+		var index = new TrigramIndex<String>(100);
+		var expected = List.of("z", "y", "x", "w", "v", "u", "t", "s", "r", "q"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+		expected.forEach(item -> index.add("value_" + item, item)); //$NON-NLS-1$
+		// WHEN a query of three and more characters is answered:
+		// THEN the items come in order of their insertion, also when limited:
+		assertEquals(expected, index.query("value", 100)); //$NON-NLS-1$
+		assertEquals(expected.subList(0, 3), index.query("value", 3)); //$NON-NLS-1$
+	}
+
+	@Test
+	@DisplayName("Queries shorter than a trigram shall scan all items")
+	void testShortQuery() {
+		var index = new TrigramIndex<String>(10);
+		index.add("foo", "a"); //$NON-NLS-1$ //$NON-NLS-2$
+		index.add("bar", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("a"), index.query("fo", 10)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("a", "b"), index.query("", 10)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(List.of("a"), index.query("", 1)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	@DisplayName("Index shall be cleared when its size limit is exceeded")
+	void testSizeLimit() {
+		// GIVEN is a full index:
+		var index = new TrigramIndex<String>(2);
+		index.add("alpha", "a"); //$NON-NLS-1$ //$NON-NLS-2$
+		index.add("beta", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		// WHEN another item gets added:
+		index.add("gamma", "c"); //$NON-NLS-1$ //$NON-NLS-2$
+		// THEN only the new item remains:
+		assertEquals(1, index.size());
+		assertTrue(index.query("alpha", 10).isEmpty()); //$NON-NLS-1$
+		assertEquals(List.of("c"), index.query("gamma", 10)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.services.ast;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+import org.eclipse.cdt.lsp.services.ast.AstNode;
+import org.eclipse.cdt.lsp.services.ast.CompactAst;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.eclipse.lsp4j.jsonrpc.services.ServiceEndpoints;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+class CompactAstTest {
+	private static final String JSON = """
+			{"role":"declaration","kind":"Function","detail":"main",
+			 "range":{"start":{"line":0,"character":0},"end":{"line":3,"character":1}},
+			 "children":[
+			  {"kind":"Compound","role":"statement","range":{"start":{"line":0,"character":11},"end":{"line":3,"character":1}},
+			   "children":[
+			    {"role":"statement","kind":"Return","range":{"start":{"line":2,"character":2},"end":{"line":2,"character":10}},
+			     "children":[{"role":"expression","kind":"IntegerLiteral","detail":"0","range":{"start":{"line":2,"character":9},"end":{"line":2,"character":10}}}]},
+			    {"role":"statement","kind":"Null","range":{"start":{"line":2,"character":10},"end":{"line":2,"character":11}}}]}]}
+			"""; //$NON-NLS-1$
+
+	@Test
+	@DisplayName("AST shall be read from JSON into pre-order arrays")
+	void testRead() {
+		var ast = new Gson().fromJson(JSON, CompactAst.class);
+		assertEquals(5, ast.size());
+		assertEquals("Function", ast.kind(0)); //$NON-NLS-1$
+		assertEquals("main", ast.detail(0)); //$NON-NLS-1$
+		assertNull(ast.arcana(0));
+		assertArrayEquals(new int[] { 1 }, ast.children(0));
+		assertArrayEquals(new int[] { 2, 4 }, ast.children(1));
+		assertArrayEquals(new int[] { 3 }, ast.children(2));
+		assertEquals("statement", ast.role(1)); //$NON-NLS-1$
+		assertEquals(new Range(new Position(2, 9), new Position(2, 10)), ast.range(3));
+		assertEquals(5, ast.subtreeEnd(0));
+	}
+
+	@Test
+	@DisplayName("Deepest enclosing node shall be found")
+	void testFindEnclosing() {
+		var ast = new Gson().fromJson(JSON, CompactAst.class);
+		assertEquals(3, ast.findEnclosing(new Range(new Position(2, 9), new Position(2, 9))));
+		assertEquals(4, ast.findEnclosing(new Range(new Position(2, 10), new Position(2, 11))));
+		assertEquals(-1, ast.findEnclosing(new Range(new Position(5, 0), new Position(5, 1))));
+	}
+
+	@Test
+	@DisplayName("Compact AST shall be equivalent to the AstNode tree")
+	void testAstNodeRoundTrip() {
+		var gson = new Gson();
+		var node = gson.fromJson(JSON, AstNode.class);
+		var compact = gson.fromJson(JSON, CompactAst.class);
+		assertEquals(node, compact.toAstNode(0));
+		assertEquals(node, CompactAst.of(node).toAstNode(0));
+		assertEquals(node, gson.fromJson(gson.toJson(compact), AstNode.class));
+	}
+
+	@Test
+	@DisplayName("The textDocument/ast response shall be read by the JSON-RPC handler into a compact AST")
+	void testJsonRpcResponse() {
+		// GIVEN is the JSON-RPC handler for the methods of clangd:
+		var handler = new MessageJsonHandler(ServiceEndpoints.getSupportedMethods(ClangdLanguageServer.class));
+		handler.setMethodProvider(id -> "textDocument/ast"); //$NON-NLS-1$
+		// WHEN a response to a textDocument/ast request gets parsed:
+		var message = handler.parseMessage("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":" + JSON + "}"); //$NON-NLS-1$ //$NON-NLS-2$
+		// THEN its result is the compact AST:
+		var ast = assertInstanceOf(CompactAst.class, ((ResponseMessage) message).getResult());
+		assertEquals(5, ast.size());
+		assertEquals("Function", ast.kind(0)); //$NON-NLS-1$
+	}
+
+}
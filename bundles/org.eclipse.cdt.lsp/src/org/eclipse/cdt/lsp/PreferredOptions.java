@@ -60,6 +60,19 @@ public abstract class PreferredOptions {
 				.orElseGet(customized::defaultValue);
 	}
 
+	/**
+	 * @since 4.0
+	 */
+	protected final int intValue(PreferenceMetadata<Integer> predefined) {
+		PreferenceMetadata<Integer> customized = metadata.defined(predefined.identifer(), Integer.class)
+				.orElse(predefined);
+		try {
+			return Integer.parseInt(commonValue(customized).trim());
+		} catch (NumberFormatException e) {
+			return customized.defaultValue();
+		}
+	}
+
 	protected final String stringValue(PreferenceMetadata<String> predefined) {
 		PreferenceMetadata<String> customized = metadata.defined(predefined.identifer(), String.class)
 				.orElse(predefined);
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.editor;
+
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Live index of the editors opened in the workbench, keyed by the URI of their editor input.
+ * The index is maintained by part listeners. Lookups neither iterate over all editor references
+ * nor restore editors which have not been materialized yet.
+ * All methods are safe to be called from non UI threads, they read the latest published {@link EditorState}.
+ *
+ * @since 4.0
+ */
+public interface EditorIndex {
+
+	/**
+	 * Checks whether any editor, restored or not, is known to the index.
+	 *
+	 * @return {@code true} if no editor is opened
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Returns the ids of the editors in which the given URI is opened.
+	 *
+	 * @param uri the editor input URI, may be {@code null}
+	 * @return the editor ids, empty if the URI is not opened in any editor
+	 */
+	Set<String> editorIds(URI uri);
+
+	/**
+	 * Returns the URIs opened in editors with the given id.
+	 *
+	 * @param editorId the editor id, e.g. {@code org.eclipse.cdt.lsp.CEditor}
+	 * @return the URIs opened in editors with the given id
+	 */
+	Set<URI> uris(String editorId);
+
+	/**
+	 * Returns the latest published editor state snapshot.
+	 *
+	 * @return the editor state, never {@code null}
+	 */
+	EditorState state();
+
+}
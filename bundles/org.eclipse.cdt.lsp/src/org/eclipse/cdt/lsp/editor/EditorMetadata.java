@@ -100,6 +100,46 @@ public interface EditorMetadata extends ConfigurationMetadata {
 				LspUiMessages.SaveActionsConfigurationPage_FormatEditedLines,
 				LspUiMessages.SaveActionsConfigurationPage_FormatEditedLines_description);
 
+		/**
+		 * Returns the metadata for the number of unchanged lines up to which edited regions get merged before
+		 * formatting.
+		 *
+		 * @see EditorOptions#formatEditedLinesGap()
+		 *
+		 * @since 4.0
+		 */
+		PreferenceMetadata<Integer> formatEditedLinesGap = new PreferenceMetadata<>(Integer.class, //
+				"format_edited_lines_gap", //$NON-NLS-1$
+				2, //
+				LspUiMessages.SaveActionsConfigurationPage_FormatEditedLinesGap,
+				LspUiMessages.SaveActionsConfigurationPage_FormatEditedLinesGap_description);
+
+		/**
+		 * Returns the metadata for the number of edited regions above which the whole file gets formatted.
+		 *
+		 * @see EditorOptions#formatEditedLinesMaxRegions()
+		 *
+		 * @since 4.0
+		 */
+		PreferenceMetadata<Integer> formatEditedLinesMaxRegions = new PreferenceMetadata<>(Integer.class, //
+				"format_edited_lines_max_regions", //$NON-NLS-1$
+				32, //
+				LspUiMessages.SaveActionsConfigurationPage_FormatEditedLinesMaxRegions,
+				LspUiMessages.SaveActionsConfigurationPage_FormatEditedLinesMaxRegions_description);
+
+		/**
+		 * Returns the metadata for the number of symbols of a translation unit shown per page in Project Explorer.
+		 *
+		 * @see EditorOptions#navigatorSymbolsPageSize()
+		 *
+		 * @since 4.0
+		 */
+		PreferenceMetadata<Integer> navigatorSymbolsPageSize = new PreferenceMetadata<>(Integer.class, //
+				"navigator_symbols_page_size", //$NON-NLS-1$
+				100, //
+				LspUiMessages.LspEditorConfigurationPage_navigatorSymbolsPageSize,
+				LspUiMessages.LspEditorConfigurationPage_navigatorSymbolsPageSize_description);
+
 		/**
 		 * Returns the default {@link List} of {@link PreferenceMetadata}
 		 */
@@ -109,7 +149,10 @@ public interface EditorMetadata extends ConfigurationMetadata {
 				enableSubWordNavigation, //
 				formatOnSave, //
 				formatAllLines, //
-				formatEditedLines//
+				formatEditedLines, //
+				formatEditedLinesGap, //
+				formatEditedLinesMaxRegions, //
+				navigatorSymbolsPageSize//
 		);
 	}
 
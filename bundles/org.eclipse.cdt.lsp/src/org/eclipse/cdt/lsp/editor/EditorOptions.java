@@ -60,4 +60,34 @@ public interface EditorOptions {
 	 */
 	boolean formatEditedLines();
 
+	/**
+	 * Number of unchanged lines between two edited regions up to which they are formatted as one region
+	 *
+	 * @return the number of lines, negative to not merge regions
+	 * @since 4.0
+	 */
+	default int formatEditedLinesGap() {
+		return EditorMetadata.Predefined.formatEditedLinesGap.defaultValue();
+	}
+
+	/**
+	 * Number of edited regions above which the whole file is formatted at once
+	 *
+	 * @return the number of regions
+	 * @since 4.0
+	 */
+	default int formatEditedLinesMaxRegions() {
+		return EditorMetadata.Predefined.formatEditedLinesMaxRegions.defaultValue();
+	}
+
+	/**
+	 * Number of symbols of a translation unit shown per page in Project Explorer
+	 *
+	 * @return the number of symbols
+	 * @since 4.0
+	 */
+	default int navigatorSymbolsPageSize() {
+		return EditorMetadata.Predefined.navigatorSymbolsPageSize.defaultValue();
+	}
+
 }
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.editor;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the editors opened in the workbench. A new snapshot is published from the UI thread
+ * whenever an editor gets opened, closed or activated, so it can be read from any thread without accessing the workbench.
+ *
+ * @param activeEditorId the id of the active editor, {@code null} if there is no active editor or it is not known yet
+ * @param editors the ids of the editors per opened URI
+ *
+ * @see EditorIndex#state()
+ * @since 4.0
+ */
+public record EditorState(String activeEditorId, Map<URI, Set<String>> editors) {
+
+	/**
+	 * State before the workbench has been inspected the first time.
+	 */
+	public static final EditorState UNKNOWN = new EditorState(null, Map.of());
+
+	public EditorState {
+		editors = Map.copyOf(editors);
+	}
+
+	/**
+	 * Distinguishes the state before the index has been connected to the workbench from a connected index without
+	 * editors. Every published state is a new instance, hence only {@link #UNKNOWN} itself is not known.
+	 *
+	 * @return {@code true} if the state has been published from the workbench
+	 */
+	public boolean isKnown() {
+		return this != UNKNOWN;
+	}
+
+	/**
+	 * @return the id of the active editor, if any
+	 */
+	public Optional<String> activeEditor() {
+		return Optional.ofNullable(activeEditorId);
+	}
+
+	/**
+	 * @param uri the editor input URI, may be {@code null}
+	 * @return the ids of the editors in which the given URI is opened
+	 */
+	public Set<String> editorIds(URI uri) {
+		return uri != null ? editors.getOrDefault(uri, Set.of()) : Set.of();
+	}
+
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.config;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.runtime.preferences.DefaultScope;
+import org.eclipse.core.runtime.preferences.IScopeContext;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+/**
+ * The options per project, or for the workspace if empty. An options instance memoizes its values and is reused
+ * until a preference of one of its scopes changes or the preference node of a scope gets added or removed. Then its
+ * values get invalidated and a new instance is created on the next access. A project scope affects the options of its
+ * project only, the other scopes affect all options.
+ */
+public final class CachedOptions<O> {
+
+	private record Entry<O>(O options, OptionValues values) {
+	}
+
+	private final Map<Optional<ProjectScope>, Entry<O>> entries = new ConcurrentHashMap<>();
+	private final PreferenceObserver observer;
+	private final BiFunction<IScopeContext[], OptionValues, O> factory;
+
+	/**
+	 * @param qualifier the qualifier of the preference nodes
+	 * @param factory creates the options for the given scopes, which resolve their values through the given values
+	 */
+	public CachedOptions(String qualifier, BiFunction<IScopeContext[], OptionValues, O> factory) {
+		this.observer = new PreferenceObserver(qualifier);
+		this.factory = factory;
+	}
+
+	public O get(Optional<ProjectScope> project) {
+		var entry = entries.get(project);
+		if (entry == null) {
+			var scopes = scopes(project);
+			for (var scope : scopes) {
+				observer.observe(scope, scope instanceof ProjectScope ? () -> invalidate(project) : this::invalidateAll);
+			}
+			// the values are resolved on access, hence an invalidation before the put leaves no stale value:
+			var values = OptionValues.memoized();
+			var created = new Entry<>(factory.apply(scopes, values), values);
+			var previous = entries.putIfAbsent(project, created);
+			entry = previous != null ? previous : created;
+		}
+		return entry.options();
+	}
+
+	private static IScopeContext[] scopes(Optional<ProjectScope> project) {
+		if (project.isPresent()) {
+			return new IScopeContext[] { project.get(), InstanceScope.INSTANCE, DefaultScope.INSTANCE };
+		}
+		return new IScopeContext[] { InstanceScope.INSTANCE, DefaultScope.INSTANCE };
+	}
+
+	private void invalidate(Optional<ProjectScope> project) {
+		var entry = entries.remove(project);
+		if (entry != null) {
+			entry.values().invalidate();
+		}
+	}
+
+	private void invalidateAll() {
+		entries.keySet().forEach(this::invalidate);
+	}
+
+	/**
+	 * Removes the preference listeners and invalidates the values of all options handed out.
+	 */
+	public void dispose() {
+		observer.dispose();
+		invalidateAll();
+	}
+
+}
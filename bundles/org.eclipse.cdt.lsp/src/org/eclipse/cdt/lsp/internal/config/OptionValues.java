@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.preferences.PreferenceMetadata;
+
+/**
+ * The option values of an options instance. Memoized values are resolved once until they get invalidated, afterwards
+ * every access resolves the value again, so a client still holding the options instance keeps seeing the current
+ * preferences.
+ */
+public final class OptionValues {
+	private final Map<String, Object> values = new ConcurrentHashMap<>();
+	private volatile boolean valid;
+
+	private OptionValues(boolean valid) {
+		this.valid = valid;
+	}
+
+	/**
+	 * @return values which are memoized until {@link #invalidate()}
+	 */
+	public static OptionValues memoized() {
+		return new OptionValues(true);
+	}
+
+	/**
+	 * @return values which are resolved on every access
+	 */
+	public static OptionValues resolved() {
+		return new OptionValues(false);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T get(PreferenceMetadata<T> predefined, Function<PreferenceMetadata<T>, T> resolve) {
+		if (!valid) {
+			return resolve.apply(predefined);
+		}
+		var value = values.get(predefined.identifer());
+		if (value == null) {
+			value = resolve.apply(predefined);
+			values.putIfAbsent(predefined.identifer(), value);
+			// invalidated while resolving, the value just stored would never be read again:
+			if (!valid) {
+				values.clear();
+			}
+		}
+		return (T) value;
+	}
+
+	/**
+	 * Drops the memoized values, all further accesses resolve the values again.
+	 */
+	public void invalidate() {
+		valid = false;
+		values.clear();
+	}
+
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.INodeChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.NodeChangeEvent;
+import org.eclipse.core.runtime.preferences.IScopeContext;
+
+/**
+ * Observes the preference node of a qualifier in several scopes, to invalidate values cached from it: a preference
+ * change of the node and the addition or removal of the node itself are reported. Each node is observed once, with
+ * the callback of its first observation. The listeners are removed on {@link #dispose()}.
+ */
+public final class PreferenceObserver {
+	private final String qualifier;
+
+	private record Registration(IEclipsePreferences node, Runnable remove) {
+	}
+
+	/**
+	 * The registrations per absolute node path. A node which gets removed together with its project and recreated
+	 * on reopening replaces the registration of its predecessor.
+	 */
+	private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+	public PreferenceObserver(String qualifier) {
+		this.qualifier = qualifier;
+	}
+
+	/**
+	 * Observes the node of the qualifier in the given scope, unless already observed. Has to be called before the
+	 * cached value gets resolved, and not while updating the cache, since observing may create the node, which is
+	 * reported as change.
+	 *
+	 * @param scope the scope to observe
+	 * @param changed called when a preference of the scope changes or its node gets added or removed
+	 */
+	public void observe(IScopeContext scope, Runnable changed) {
+		if (!(scope.getNode(qualifier) instanceof IEclipsePreferences node)) {
+			return;
+		}
+		register(node, () -> {
+			IPreferenceChangeListener listener = event -> changed.run();
+			node.addPreferenceChangeListener(listener);
+			return () -> node.removePreferenceChangeListener(listener);
+		});
+		if (node.parent() instanceof IEclipsePreferences parent) {
+			register(parent, () -> {
+				INodeChangeListener listener = new INodeChangeListener() {
+
+					@Override
+					public void added(NodeChangeEvent event) {
+						if (qualifier.equals(event.getChild().name())) {
+							changed.run();
+						}
+					}
+
+					@Override
+					public void removed(NodeChangeEvent event) {
+						if (qualifier.equals(event.getChild().name())) {
+							changed.run();
+						}
+					}
+				};
+				parent.addNodeChangeListener(listener);
+				return () -> parent.removeNodeChangeListener(listener);
+			});
+		}
+	}
+
+	private void register(IEclipsePreferences node, Supplier<Runnable> listen) {
+		registrations.compute(node.absolutePath(), (path, registration) -> {
+			if (registration != null && registration.node() == node) {
+				return registration;
+			}
+			if (registration != null) {
+				remove(registration);
+			}
+			return new Registration(node, listen.get());
+		});
+	}
+
+	private static void remove(Registration registration) {
+		try {
+			registration.remove().run();
+		} catch (IllegalStateException e) {
+			// the node has already been removed, together with its listeners
+		}
+	}
+
+	/**
+	 * Removes all listeners.
+	 */
+	public void dispose() {
+		registrations.values().forEach(PreferenceObserver::remove);
+		registrations.clear();
+	}
+
+}
@@ -12,19 +12,16 @@
 
 package org.eclipse.cdt.lsp.internal.editor;
 
-import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.cdt.lsp.plugin.LspPlugin;
 import org.eclipse.cdt.lsp.server.ICLanguageServerProvider;
 import org.eclipse.cdt.lsp.util.LspUtils;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.resources.WorkspaceJob;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Platform;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.ui.IEditorDescriptor;
 import org.eclipse.ui.IEditorInput;
@@ -36,6 +33,18 @@ import org.eclipse.ui.part.FileEditorInput;
 public class CEditorAssociationOverride implements IEditorAssociationOverride {
 	private final ICLanguageServerProvider cLanguageServerProvider;
 
+	private record Decision(IProject project, String contentType) {
+	}
+
+	/**
+	 * The enablement per project and content type, since the workbench asks for every editor opening and label
+	 * decoration. An entry is removed when a preference of its project or of the workspace changes. Not used while a
+	 * {@link org.eclipse.cdt.lsp.editor.LanguageServerEnable} service decides.
+	 */
+	private final Map<Decision, Boolean> decisions = new ConcurrentHashMap<>();
+	private final EnablementObserver observer = new EnablementObserver(this::invalidate, decisions::clear);
+	private final CodanMarkerCleanup codanMarkerCleanup = new CodanMarkerCleanup();
+
 	public CEditorAssociationOverride() {
 		cLanguageServerProvider = LspPlugin.getDefault().getCLanguageServerProvider();
 	}
@@ -58,6 +67,9 @@ public class CEditorAssociationOverride implements IEditorAssociationOverride {
 	@Override
 	public IEditorDescriptor[] overrideEditors(String fileName, IContentType contentType,
 			IEditorDescriptor[] editorDescriptors) {
+		if (isNoCElement(contentType)) {
+			return editorDescriptors;
+		}
 		IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(fileName);
 		if (resource != null && resource instanceof IFile) {
 			return overrideEditors(new FileEditorInput((IFile) resource), contentType, editorDescriptors);
@@ -75,6 +87,9 @@ public class CEditorAssociationOverride implements IEditorAssociationOverride {
 	@Override
 	public IEditorDescriptor overrideDefaultEditor(String fileName, IContentType contentType,
 			IEditorDescriptor editorDescriptor) {
+		if (isNoCElement(contentType)) {
+			return editorDescriptor;
+		}
 		IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(fileName);
 		if (resource != null && resource instanceof IFile) {
 			return overrideDefaultEditor(new FileEditorInput((IFile) resource), contentType, editorDescriptor);
@@ -87,32 +102,38 @@ public class CEditorAssociationOverride implements IEditorAssociationOverride {
 			return false;
 		IResource resource = editorInput.getAdapter(IResource.class);
 		if (resource != null) {
-			boolean enabled = cLanguageServerProvider.isEnabledFor(resource.getProject());
-			if (enabled) {
-				deleteCodanMarkers(resource);
-			}
-			return enabled;
+			return isEnabledFor(resource.getProject(), contentType);
 		}
 		// When resource == null it's an external file: Check if the file is already opened, if not check the active editor:
 		return LspUtils.isFileOpenedInLspEditor(editorInput, contentType);
 	}
 
-	private void deleteCodanMarkers(IResource resource) {
-		var wsJob = new WorkspaceJob("Remove codan markers") { //$NON-NLS-1$
-			@Override
-			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-				try {
-					resource.deleteMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true,
-							IResource.DEPTH_INFINITE);
-				} catch (CoreException e) {
-					Platform.getLog(CEditorAssociationOverride.class).log(e.getStatus());
-				}
-				return Status.OK_STATUS;
-			}
-		};
-		wsJob.setRule(resource);
-		wsJob.setSystem(true);
-		wsJob.schedule();
+	private boolean isEnabledFor(IProject project, IContentType contentType) {
+		if (!observer.isObservable()) {
+			return decide(project);
+		}
+		var decision = new Decision(project, contentType.getId());
+		var enabled = decisions.get(decision);
+		if (enabled == null) {
+			observer.observe(project);
+			enabled = decide(project);
+			decisions.putIfAbsent(decision, enabled);
+		}
+		return enabled;
+	}
+
+	private boolean decide(IProject project) {
+		var enabled = cLanguageServerProvider.isEnabledFor(project);
+		if (enabled) {
+			codanMarkerCleanup.request(project);
+		} else {
+			codanMarkerCleanup.reset(project);
+		}
+		return enabled;
+	}
+
+	private void invalidate(IProject project) {
+		decisions.keySet().removeIf(decision -> decision.project().equals(project));
 	}
 
 	private boolean isNoCElement(IContentType contentType) {
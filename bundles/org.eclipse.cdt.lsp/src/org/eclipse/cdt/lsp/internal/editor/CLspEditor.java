@@ -12,10 +12,7 @@
 package org.eclipse.cdt.lsp.internal.editor;
 
 import java.text.BreakIterator;
-import java.text.CharacterIterator;
 
-import org.eclipse.cdt.internal.ui.text.CWordIterator;
-import org.eclipse.cdt.internal.ui.text.DocumentCharacterIterator;
 import org.eclipse.cdt.lsp.editor.EditorConfiguration;
 import org.eclipse.cdt.lsp.editor.EditorOptions;
 import org.eclipse.cdt.lsp.internal.switchtolsp.ISwitchBackToTraditional;
@@ -24,6 +21,9 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewerExtension5;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.jface.text.source.IVerticalRuler;
 import org.eclipse.swt.SWT;
@@ -48,7 +48,7 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 	 * @since 3.1
 	 */
 	protected abstract class NextSubWordAction extends TextNavigationAction {
-		protected CWordIterator fIterator = new CWordIterator();
+		protected final SubWordIterator fIterator = subWordIterator;
 
 		/**
 		 * Creates a new next sub-word action.
@@ -69,7 +69,7 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 
 			final ISourceViewer viewer = getSourceViewer();
 			final IDocument document = viewer.getDocument();
-			fIterator.setText((CharacterIterator) new DocumentCharacterIterator(document));
+			fIterator.setDocument(document);
 			int position = widgetOffset2ModelOffset(viewer, viewer.getTextWidget().getCaretOffset());
 			if (position == -1)
 				return;
@@ -98,10 +98,18 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 		protected int findNextPosition(int position) {
 			ISourceViewer viewer = getSourceViewer();
 			int widget = -1;
-			while (position != BreakIterator.DONE && widget == -1) { // TODO: optimize
+			while (position != BreakIterator.DONE && widget == -1) {
 				position = fIterator.following(position);
-				if (position != BreakIterator.DONE)
+				if (position != BreakIterator.DONE) {
 					widget = modelOffset2WidgetOffset(viewer, position);
+					if (widget == -1) {
+						// skip the collapsed region at once, the next boundary is at or after its end:
+						int visible = nextVisibleOffset(viewer, position);
+						if (visible == -1)
+							return BreakIterator.DONE;
+						position = Math.max(visible - 1, position);
+					}
+				}
 			}
 			return position;
 		}
@@ -240,7 +248,7 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 	 * @since 3.1
 	 */
 	protected abstract class PreviousSubWordAction extends TextNavigationAction {
-		protected CWordIterator fIterator = new CWordIterator();
+		protected final SubWordIterator fIterator = subWordIterator;
 
 		/**
 		 * Creates a new previous sub-word action.
@@ -261,7 +269,7 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 
 			final ISourceViewer viewer = getSourceViewer();
 			final IDocument document = viewer.getDocument();
-			fIterator.setText((CharacterIterator) new DocumentCharacterIterator(document));
+			fIterator.setDocument(document);
 			int position = widgetOffset2ModelOffset(viewer, viewer.getTextWidget().getCaretOffset());
 			if (position == -1)
 				return;
@@ -290,10 +298,18 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 		protected int findPreviousPosition(int position) {
 			ISourceViewer viewer = getSourceViewer();
 			int widget = -1;
-			while (position != BreakIterator.DONE && widget == -1) { // TODO: optimize
+			while (position != BreakIterator.DONE && widget == -1) {
 				position = fIterator.preceding(position);
-				if (position != BreakIterator.DONE)
+				if (position != BreakIterator.DONE) {
 					widget = modelOffset2WidgetOffset(viewer, position);
+					if (widget == -1) {
+						// skip the collapsed region at once, the previous boundary is at or before its start:
+						int visible = previousVisibleOffset(viewer, position);
+						if (visible == -1)
+							return BreakIterator.DONE;
+						position = Math.min(visible + 1, position);
+					}
+				}
 			}
 			return position;
 		}
@@ -425,6 +441,36 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 
 	private static final String CONTEXT_ID = "org.eclipse.cdt.lsp.cEditorContext"; //$NON-NLS-1$
 
+	private final SubWordIterator subWordIterator = new SubWordIterator();
+
+	/**
+	 * @return the first offset after the given hidden offset that is shown in the viewer, or -1
+	 */
+	private static int nextVisibleOffset(ISourceViewer viewer, int offset) {
+		if (viewer instanceof ITextViewerExtension5 extension) {
+			IRegion[] visible = extension
+					.getCoveredModelRanges(new Region(offset, viewer.getDocument().getLength() - offset));
+			if (visible != null && visible.length > 0) {
+				return visible[0].getOffset();
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the last offset before the given hidden offset that is shown in the viewer, or -1
+	 */
+	private static int previousVisibleOffset(ISourceViewer viewer, int offset) {
+		if (viewer instanceof ITextViewerExtension5 extension) {
+			IRegion[] visible = extension.getCoveredModelRanges(new Region(0, offset));
+			if (visible != null && visible.length > 0) {
+				IRegion region = visible[visible.length - 1];
+				return region.getOffset() + region.getLength();
+			}
+		}
+		return -1;
+	}
+
 	@Override
 	protected void createNavigationActions() {
 		super.createNavigationActions();
@@ -464,6 +510,12 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 		markAsStateDependentAction(ITextEditorActionDefinitionIds.DELETE_NEXT_WORD, true);
 	}
 
+	@Override
+	public void dispose() {
+		subWordIterator.setDocument(null);
+		super.dispose();
+	}
+
 	@Override
 	protected void initializeKeyBindingScopes() {
 		setKeyBindingScopes(new String[] { CONTEXT_ID });
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.editor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.QualifiedName;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.MultiRule;
+
+/**
+ * Removes the code analysis markers of a project once it gets enabled for the language server. The removal is
+ * recorded in a persistent property of the project, so it's done again only after the project has been disabled.
+ * Requests are coalesced: all projects requested until the job runs are cleaned in one workspace operation, which
+ * results in a single resource delta.
+ */
+public final class CodanMarkerCleanup extends Job {
+	public static final QualifiedName CLEANED = new QualifiedName(LspPlugin.PLUGIN_ID, "codanMarkersRemoved"); //$NON-NLS-1$
+
+	private final Set<IProject> requested = ConcurrentHashMap.newKeySet();
+
+	public CodanMarkerCleanup() {
+		super("Remove codan markers"); //$NON-NLS-1$
+		setSystem(true);
+	}
+
+	/**
+	 * Requests the removal of the code analysis markers of the given project, unless they have already been removed
+	 * since it got enabled.
+	 */
+	public void request(IProject project) {
+		if (project.isAccessible() && !isCleaned(project) && requested.add(project)) {
+			schedule();
+		}
+	}
+
+	/**
+	 * Has to be called when the given project gets disabled, so that its markers get removed on the next enablement.
+	 */
+	public void reset(IProject project) {
+		requested.remove(project);
+		if (project.isAccessible() && isCleaned(project)) {
+			try {
+				project.setPersistentProperty(CLEANED, null);
+			} catch (CoreException e) {
+				Platform.getLog(getClass()).log(e.getStatus());
+			}
+		}
+	}
+
+	public static boolean isCleaned(IProject project) {
+		try {
+			return project.getPersistentProperty(CLEANED) != null;
+		} catch (CoreException e) {
+			return false;
+		}
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		List<IProject> projects = new ArrayList<>();
+		for (var project : requested) {
+			if (requested.remove(project) && project.isAccessible() && !isCleaned(project)) {
+				projects.add(project);
+			}
+		}
+		if (projects.isEmpty()) {
+			return Status.OK_STATUS;
+		}
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		try {
+			workspace.run(m -> {
+				for (var project : projects) {
+					project.deleteMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true,
+							IResource.DEPTH_INFINITE);
+					project.setPersistentProperty(CLEANED, Boolean.TRUE.toString());
+				}
+			}, MultiRule.combine(projects.toArray(ISchedulingRule[]::new)), IWorkspace.AVOID_UPDATE, monitor);
+		} catch (CoreException e) {
+			Platform.getLog(getClass()).log(e.getStatus());
+		}
+		return Status.OK_STATUS;
+	}
+
+}
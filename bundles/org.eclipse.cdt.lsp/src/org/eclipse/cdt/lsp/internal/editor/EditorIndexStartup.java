@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.editor;
+
+import org.eclipse.e4.ui.workbench.UIEvents;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Connects the {@link WorkbenchEditorIndex} once the workbench startup has completed.
+ */
+@Component(property = EventConstants.EVENT_TOPIC + "=" + UIEvents.UILifeCycle.APP_STARTUP_COMPLETE)
+public final class EditorIndexStartup implements EventHandler {
+
+	@Override
+	public void handleEvent(Event event) {
+		WorkbenchEditorIndex.startInWorkbench();
+	}
+
+}
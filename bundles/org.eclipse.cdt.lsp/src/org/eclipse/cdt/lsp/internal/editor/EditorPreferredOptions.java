@@ -16,46 +16,69 @@ import org.eclipse.cdt.lsp.PreferredOptions;
 import org.eclipse.cdt.lsp.editor.EditorMetadata;
 import org.eclipse.cdt.lsp.editor.EditorOptions;
 import org.eclipse.cdt.lsp.editor.LanguageServerEnable;
+import org.eclipse.cdt.lsp.internal.config.OptionValues;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 
 public final class EditorPreferredOptions extends PreferredOptions implements EditorOptions, LanguageServerEnable {
 	private final LanguageServerEnable enable;
+	private final OptionValues values;
 
 	public EditorPreferredOptions(EditorMetadata metadata, String qualifier, IScopeContext[] scopes,
 			LanguageServerEnable enable) {
+		this(metadata, qualifier, scopes, enable, OptionValues.resolved());
+	}
+
+	public EditorPreferredOptions(EditorMetadata metadata, String qualifier, IScopeContext[] scopes,
+			LanguageServerEnable enable, OptionValues values) {
 		super(metadata, qualifier, scopes);
 		this.enable = enable;
+		this.values = values;
 	}
 
 	@Override
 	public boolean preferLspEditor() {
-		return booleanValue(EditorMetadata.Predefined.preferLspEditor);
+		return values.get(EditorMetadata.Predefined.preferLspEditor, this::booleanValue);
 	}
 
 	@Override
 	public boolean showTryLspBanner() {
-		return booleanValue(EditorMetadata.Predefined.showTryLspBanner);
+		return values.get(EditorMetadata.Predefined.showTryLspBanner, this::booleanValue);
 	}
 
 	@Override
 	public boolean enableSubWordNavigation() {
-		return booleanValue(EditorMetadata.Predefined.enableSubWordNavigation);
+		return values.get(EditorMetadata.Predefined.enableSubWordNavigation, this::booleanValue);
 	}
 
 	@Override
 	public boolean formatOnSave() {
-		return booleanValue(EditorMetadata.Predefined.formatOnSave);
+		return values.get(EditorMetadata.Predefined.formatOnSave, this::booleanValue);
 	}
 
 	@Override
 	public boolean formatAllLines() {
-		return booleanValue(EditorMetadata.Predefined.formatAllLines);
+		return values.get(EditorMetadata.Predefined.formatAllLines, this::booleanValue);
 	}
 
 	@Override
 	public boolean formatEditedLines() {
-		return booleanValue(EditorMetadata.Predefined.formatEditedLines);
+		return values.get(EditorMetadata.Predefined.formatEditedLines, this::booleanValue);
+	}
+
+	@Override
+	public int formatEditedLinesGap() {
+		return values.get(EditorMetadata.Predefined.formatEditedLinesGap, this::intValue);
+	}
+
+	@Override
+	public int formatEditedLinesMaxRegions() {
+		return values.get(EditorMetadata.Predefined.formatEditedLinesMaxRegions, this::intValue);
+	}
+
+	@Override
+	public int navigatorSymbolsPageSize() {
+		return values.get(EditorMetadata.Predefined.navigatorSymbolsPageSize, this::intValue);
 	}
 
 	@Override
@@ -63,7 +86,7 @@ public final class EditorPreferredOptions extends PreferredOptions implements Ed
 		if (enable != null) {
 			return enable.isEnabledFor(project);
 		}
-		return booleanValue(EditorMetadata.Predefined.preferLspEditor);
+		return values.get(EditorMetadata.Predefined.preferLspEditor, this::booleanValue);
 	}
 
 }
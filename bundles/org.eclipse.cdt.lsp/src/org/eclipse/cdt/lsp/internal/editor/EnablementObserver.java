@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.editor;
+
+import java.util.function.Consumer;
+
+import org.eclipse.cdt.lsp.LspQualifier;
+import org.eclipse.cdt.lsp.editor.LanguageServerEnable;
+import org.eclipse.cdt.lsp.internal.config.PreferenceObserver;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.ServiceCaller;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+/**
+ * Notifies about changes which may change the language server enablement of projects, to invalidate cached
+ * enablements: a preference change of an observed project or of the workspace, and the closing or deletion of a
+ * project. The listeners are removed on {@link #dispose()}.
+ */
+public final class EnablementObserver {
+	private final PreferenceObserver preferences = new PreferenceObserver(new LspQualifier().get());
+	private final ServiceCaller<LanguageServerEnable> enable = new ServiceCaller<>(getClass(),
+			LanguageServerEnable.class);
+	private final Consumer<IProject> projectChanged;
+	private final IResourceChangeListener projectClosed;
+
+	/**
+	 * @param projectChanged called when the enablement of the given project may have changed
+	 * @param workspaceChanged called when the enablement of all projects may have changed
+	 */
+	public EnablementObserver(Consumer<IProject> projectChanged, Runnable workspaceChanged) {
+		this.projectChanged = projectChanged;
+		this.projectClosed = event -> {
+			if (event.getResource() instanceof IProject project) {
+				projectChanged.accept(project);
+			}
+		};
+		preferences.observe(InstanceScope.INSTANCE, workspaceChanged);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(projectClosed,
+				IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+	}
+
+	/**
+	 * Observes the preferences of the given project. Has to be called before its enablement gets resolved, see
+	 * {@link PreferenceObserver#observe(org.eclipse.core.runtime.preferences.IScopeContext, Runnable)}.
+	 */
+	public void observe(IProject project) {
+		preferences.observe(new ProjectScope(project), () -> projectChanged.accept(project));
+	}
+
+	/**
+	 * @return whether the enablement follows the observed changes only. A {@link LanguageServerEnable} service may
+	 *         decide on anything, hence its decision must not be cached.
+	 */
+	public boolean isObservable() {
+		return enable.current().isEmpty();
+	}
+
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(projectClosed);
+		preferences.dispose();
+		enable.unget();
+	}
+
+}
@@ -12,23 +12,135 @@
 
 package org.eclipse.cdt.lsp.internal.editor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.cdt.lsp.editor.EditorConfiguration;
+import org.eclipse.cdt.lsp.editor.EditorOptions;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.IFileBufferListener;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.format.IFormatRegionsProvider;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 
 @Component(property = { "serverDefinitionId:String=org.eclipse.cdt.lsp.server" })
 public class FormatOnSave implements IFormatRegionsProvider {
+	private static final String TRACE_OPTION = LspPlugin.PLUGIN_ID + "/debug/formatOnSave"; //$NON-NLS-1$
 
 	@Reference
 	private EditorConfiguration configuration;
 
+	private record Save(long start, int requests) {
+	}
+
+	/**
+	 * The traced saves per document. LSP4E sends the formatting requests for the returned regions and applies their
+	 * edits before the document gets written, hence the save latency is traced from the regions computation to the
+	 * buffer being no longer dirty.
+	 */
+	private final Map<IDocument, Save> saves = new ConcurrentHashMap<>();
+
+	private final IFileBufferListener saveListener = new IFileBufferListener() {
+
+		@Override
+		public void bufferCreated(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void bufferDisposed(IFileBuffer buffer) {
+			if (buffer instanceof ITextFileBuffer textBuffer) {
+				saves.remove(textBuffer.getDocument());
+			}
+		}
+
+		@Override
+		public void bufferContentAboutToBeReplaced(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void bufferContentReplaced(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void stateChanging(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void dirtyStateChanged(IFileBuffer buffer, boolean isDirty) {
+			if (!isDirty) {
+				saved(buffer, "saved"); //$NON-NLS-1$
+			}
+		}
+
+		@Override
+		public void stateValidationChanged(IFileBuffer buffer, boolean isStateValidated) {
+		}
+
+		@Override
+		public void underlyingFileMoved(IFileBuffer buffer, IPath path) {
+		}
+
+		@Override
+		public void underlyingFileDeleted(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void stateChangeFailed(IFileBuffer buffer) {
+			saved(buffer, "failed"); //$NON-NLS-1$
+		}
+	};
+
+	@Activate
+	public void activate() {
+		FileBuffers.getTextFileBufferManager().addFileBufferListener(saveListener);
+	}
+
+	@Deactivate
+	public void deactivate() {
+		FileBuffers.getTextFileBufferManager().removeFileBufferListener(saveListener);
+		saves.clear();
+	}
+
 	@Override
 	public IRegion[] getFormattingRegions(IDocument document) {
+		long start = System.nanoTime();
+		var regions = formattingRegions(document);
+		if (regions != null && Platform.getDebugBoolean(TRACE_OPTION)) {
+			saves.put(document, new Save(start, regions.length));
+		}
+		return regions;
+	}
+
+	private void saved(IFileBuffer buffer, String result) {
+		if (saves.isEmpty() || !(buffer instanceof ITextFileBuffer textBuffer)) {
+			return;
+		}
+		var save = saves.remove(textBuffer.getDocument());
+		if (save != null) {
+			Platform.getLog(getClass())
+					.info(String.format("Format on save: %s after %d ms, %d formatting requests", result, //$NON-NLS-1$
+							TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - save.start()), save.requests()));
+		}
+	}
+
+	private IRegion[] formattingRegions(IDocument document) {
 		var file = LSPEclipseUtils.getFile(document);
 		if (file != null) {
 			var editorOptions = configuration.options(file);
@@ -37,11 +149,82 @@ public class FormatOnSave implements IFormatRegionsProvider {
 					return IFormatRegionsProvider.allLines(document);
 				}
 				if (editorOptions.formatEditedLines()) {
-					return IFormatRegionsProvider.calculateEditedLineRegions(document, new NullProgressMonitor());
+					return editedLineRegions(document, editorOptions);
 				}
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * LSP4E sends one range formatting request per region, hence nearby regions get merged and too many regions
+	 * get replaced by the whole document.
+	 */
+	private IRegion[] editedLineRegions(IDocument document, EditorOptions options) {
+		long start = System.nanoTime();
+		var edited = IFormatRegionsProvider.calculateEditedLineRegions(document, new NullProgressMonitor());
+		if (edited == null) {
+			return null;
+		}
+		var regions = mergeRegions(document, edited, options.formatEditedLinesGap());
+		if (regions.length > options.formatEditedLinesMaxRegions()) {
+			regions = IFormatRegionsProvider.allLines(document);
+		}
+		if (Platform.getDebugBoolean(TRACE_OPTION)) {
+			Platform.getLog(getClass())
+					.info(String.format("Format on save: %d edited regions, %d formatting requests, %d ms", //$NON-NLS-1$
+							edited.length, regions.length,
+							TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+		}
+		return regions;
+	}
+
+	/**
+	 * Merges regions which are separated by no more than the given number of lines.
+	 *
+	 * @param document the document of the regions
+	 * @param regions the regions to merge, in any order
+	 * @param gap the maximum number of lines between two regions to be merged, negative to not merge
+	 * @return the merged regions, ordered by offset
+	 */
+	public static IRegion[] mergeRegions(IDocument document, IRegion[] regions, int gap) {
+		if (gap < 0 || regions.length < 2) {
+			return regions;
+		}
+		var sorted = regions.clone();
+		Arrays.sort(sorted, Comparator.comparingInt(IRegion::getOffset));
+		var merged = new ArrayList<IRegion>(sorted.length);
+		var current = sorted[0];
+		for (int i = 1; i < sorted.length; i++) {
+			var next = sorted[i];
+			int end = current.getOffset() + current.getLength();
+			if (linesBetween(document, end, next.getOffset()) <= gap) {
+				int mergedEnd = Math.max(end, next.getOffset() + next.getLength());
+				current = new Region(current.getOffset(), mergedEnd - current.getOffset());
+			} else {
+				merged.add(current);
+				current = next;
+			}
+		}
+		merged.add(current);
+		return merged.toArray(IRegion[]::new);
+	}
+
+	/**
+	 * @return the number of lines strictly between the line ending at <code>end</code> and the line of
+	 *         <code>offset</code>, 0 if they overlap
+	 */
+	private static int linesBetween(IDocument document, int end, int offset) {
+		if (offset <= end) {
+			return 0;
+		}
+		try {
+			// a line region may end at the start of the following line:
+			int endLine = document.getLineOfOffset(Math.max(0, end - 1));
+			return Math.max(0, document.getLineOfOffset(offset) - endLine - 1);
+		} catch (BadLocationException e) {
+			return Integer.MAX_VALUE;
+		}
+	}
+
 }
@@ -12,16 +12,33 @@
 package org.eclipse.cdt.lsp.internal.editor;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.lsp.plugin.LspPlugin;
 import org.eclipse.cdt.lsp.server.ICLanguageServerProvider;
+import org.eclipse.cdt.lsp.util.LspUtils;
 import org.eclipse.cdt.ui.lsp.ICFileImageDescriptor;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.navigator.CommonNavigator;
+import org.eclipse.ui.progress.UIJob;
 import org.osgi.framework.Bundle;
 
 public class LspEditorFileImageDescriptor implements ICFileImageDescriptor {
@@ -33,11 +50,56 @@ public class LspEditorFileImageDescriptor implements ICFileImageDescriptor {
 	public static final String IMG_CFILE = "IMG_CFILE"; //$NON-NLS-1$
 	public static final String IMG_CXXFILE = "IMG_CXXFILE"; //$NON-NLS-1$
 
+	private static final long REFRESH_DELAY_MS = 200;
+
+	/**
+	 * The enablement per project, since it's asked for every C/C++ file label. An entry is removed when a preference
+	 * of its project or of the workspace changes. Not used while a
+	 * {@link org.eclipse.cdt.lsp.editor.LanguageServerEnable} service decides.
+	 */
+	private final Map<IProject, Boolean> enabled = new ConcurrentHashMap<>();
+	/**
+	 * The previous enablement of the projects removed since the last refresh.
+	 */
+	private final Map<IProject, Boolean> previous = new ConcurrentHashMap<>();
+	private final EnablementObserver observer = new EnablementObserver(this::invalidate, this::invalidateAll);
+	private final UIJob refresh = new UIJob("Refresh C/C++ file images") { //$NON-NLS-1$
+
+		@Override
+		public IStatus runInUIThread(IProgressMonitor monitor) {
+			// one update of the navigators for all changes within the delay:
+			Set<IProject> changed = new HashSet<>();
+			for (var project : previous.keySet()) {
+				var was = previous.remove(project);
+				if (was != null && project.isAccessible() && was != isEnabled(project)) {
+					changed.add(project);
+				}
+			}
+			if (changed.isEmpty()) {
+				return Status.OK_STATUS;
+			}
+			for (var window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+				for (var page : window.getPages()) {
+					for (var reference : page.getViewReferences()) {
+						if (reference.getView(false) instanceof CommonNavigator navigator) {
+							var viewer = navigator.getCommonViewer();
+							List<Object> files = new ArrayList<>();
+							collectFiles(viewer.getTree().getItems(), changed, files);
+							viewer.update(files.toArray(), null);
+						}
+					}
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
 	public LspEditorFileImageDescriptor() {
 		cLanguageServerProvider = LspPlugin.getDefault().getCLanguageServerProvider();
 		declareRegistryImage(IMG_HFILE, ICONS_PATH + "h.png"); //$NON-NLS-1$
 		declareRegistryImage(IMG_CFILE, ICONS_PATH + "c.png"); //$NON-NLS-1$
 		declareRegistryImage(IMG_CXXFILE, ICONS_PATH + "cpp.png"); //$NON-NLS-1$
+		refresh.setSystem(true);
 	}
 
 	@Override
@@ -57,7 +119,67 @@ public class LspEditorFileImageDescriptor implements ICFileImageDescriptor {
 
 	@Override
 	public boolean isEnabled(IProject project) {
-		return cLanguageServerProvider != null ? cLanguageServerProvider.isEnabledFor(project) : false;
+		if (cLanguageServerProvider == null) {
+			return false;
+		}
+		if (!observer.isObservable()) {
+			return cLanguageServerProvider.isEnabledFor(project);
+		}
+		var result = enabled.get(project);
+		if (result == null) {
+			observer.observe(project);
+			result = cLanguageServerProvider.isEnabledFor(project);
+			enabled.putIfAbsent(project, result);
+		}
+		return result;
+	}
+
+	private void invalidate(IProject project) {
+		var was = enabled.remove(project);
+		if (was != null) {
+			previous.putIfAbsent(project, was);
+			scheduleRefresh();
+		}
+	}
+
+	private void invalidateAll() {
+		enabled.keySet().forEach(this::invalidate);
+	}
+
+	/**
+	 * Collects the elements of the created tree items which are C/C++ files of the given projects.
+	 */
+	private static void collectFiles(TreeItem[] items, Set<IProject> projects, List<Object> files) {
+		for (var item : items) {
+			var element = item.getData();
+			if (element == null) {
+				continue;
+			}
+			var resource = Adapters.adapt(element, IResource.class);
+			if (resource instanceof IFile file) {
+				if (projects.contains(file.getProject()) && isCFile(file)) {
+					files.add(element);
+				}
+			} else if (resource == null || projects.contains(resource.getProject())) {
+				collectFiles(item.getItems(), projects, files);
+			}
+		}
+	}
+
+	private static boolean isCFile(IFile file) {
+		var contentType = Platform.getContentTypeManager().findContentTypeFor(file.getName());
+		return contentType != null && LspUtils.isCContentType(contentType.getId());
+	}
+
+	private void scheduleRefresh() {
+		if (PlatformUI.isWorkbenchRunning()) {
+			refresh.schedule(REFRESH_DELAY_MS);
+		}
+	}
+
+	public void dispose() {
+		refresh.cancel();
+		observer.dispose();
 	}
 
 	private final void declareRegistryImage(String key, String path) {
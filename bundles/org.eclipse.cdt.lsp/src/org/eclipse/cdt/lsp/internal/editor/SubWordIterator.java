@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.editor;
+
+import java.text.BreakIterator;
+import java.text.CharacterIterator;
+
+import org.eclipse.cdt.internal.ui.text.CWordIterator;
+import org.eclipse.cdt.internal.ui.text.DocumentCharacterIterator;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+
+/**
+ * Sub-word iterator over a document, reused for all navigation actions of an editor.
+ * Only the line of the requested offset and its neighbour lines are scanned, and kept until the document changes or
+ * an offset of another line gets requested. If a boundary at the edge of the scanned lines may be caused by cutting
+ * the text, the whole document gets scanned instead, which is then kept until the document changes.
+ */
+@SuppressWarnings("restriction")
+public final class SubWordIterator implements IDocumentListener {
+	private final CWordIterator iterator = new CWordIterator();
+	private IDocument document;
+	private boolean wholeDocument;
+	/**
+	 * The scanned range of the document.
+	 */
+	private int first;
+	private int last;
+	/**
+	 * The range of the line the scanned range was chosen for, empty if nothing is scanned.
+	 */
+	private int lineFirst;
+	private int lineLast;
+
+	/**
+	 * @param document the document to iterate, <code>null</code> to release the current document
+	 */
+	public void setDocument(IDocument document) {
+		if (this.document == document) {
+			return;
+		}
+		if (this.document != null) {
+			this.document.removeDocumentListener(this);
+		}
+		this.document = document;
+		if (document != null) {
+			document.addDocumentListener(this);
+		}
+		reset();
+	}
+
+	/**
+	 * @param offset the document offset
+	 * @return the first sub-word boundary after the offset, or {@link BreakIterator#DONE}
+	 */
+	public int following(int offset) {
+		scan(offset);
+		int next = iterator.following(offset - first);
+		if (!wholeDocument && last < document.getLength() && (next == BreakIterator.DONE || next + first >= last)) {
+			scanDocument();
+			return iterator.following(offset);
+		}
+		return next == BreakIterator.DONE ? next : next + first;
+	}
+
+	/**
+	 * @param offset the document offset
+	 * @return the last sub-word boundary before the offset, or {@link BreakIterator#DONE}
+	 */
+	public int preceding(int offset) {
+		scan(offset);
+		int previous = iterator.preceding(offset - first);
+		if (!wholeDocument && first > 0 && (previous == BreakIterator.DONE || previous == 0)) {
+			scanDocument();
+			return iterator.preceding(offset);
+		}
+		return previous == BreakIterator.DONE ? previous : previous + first;
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		// nothing to do
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		reset();
+	}
+
+	private void reset() {
+		wholeDocument = false;
+		lineFirst = 0;
+		lineLast = -1;
+	}
+
+	private void scan(int offset) {
+		if (wholeDocument || lineFirst <= offset && offset <= lineLast) {
+			return;
+		}
+		try {
+			int line = document.getLineOfOffset(offset);
+			int start = document.getLineOffset(Math.max(0, line - 1));
+			int endLine = Math.min(document.getNumberOfLines() - 1, line + 1);
+			int end = document.getLineOffset(endLine) + document.getLineLength(endLine);
+			if (start == 0 && end == document.getLength()) {
+				scanDocument();
+				return;
+			}
+			iterator.setText(document.get(start, end - start));
+			first = start;
+			last = end;
+			lineFirst = document.getLineOffset(line);
+			lineLast = lineFirst + document.getLineLength(line);
+		} catch (BadLocationException e) {
+			scanDocument();
+		}
+	}
+
+	private void scanDocument() {
+		iterator.setText((CharacterIterator) new DocumentCharacterIterator(document));
+		wholeDocument = true;
+		first = 0;
+		last = document.getLength();
+	}
+
+}
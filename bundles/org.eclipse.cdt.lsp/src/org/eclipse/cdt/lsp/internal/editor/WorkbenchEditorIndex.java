@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.editor;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.cdt.lsp.editor.EditorIndex;
+import org.eclipse.cdt.lsp.editor.EditorState;
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IURIEditorInput;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.FileEditorInput;
+import org.eclipse.ui.progress.UIJob;
+
+/**
+ * Maintains the {@link EditorIndex} by listening to the parts of all workbench windows.
+ * Editors which have not been restored yet are indexed by means of their reference's editor input, without
+ * creating their part. Their part hash is recorded once the workbench materializes them.
+ * <p>
+ * Every change publishes a new immutable {@link EditorState} (copy-on-write). The index is connected to the workbench
+ * on the UI thread once the workbench startup has completed, see {@link EditorIndexStartup}. Readers on other threads
+ * only read the published state and never access the workbench, until the connection they get
+ * {@link EditorState#UNKNOWN}.
+ */
+public final class WorkbenchEditorIndex implements EditorIndex, IPartListener2, IWindowListener {
+
+	/**
+	 * @param partHash the hash code of the editor part, {@code 0} as long as the editor has not been restored
+	 */
+	private record Entry(String editorId, int partHash, URI uri, IEditorInput editorInput) {
+	}
+
+	private final Map<IWorkbenchPartReference, Entry> byReference = new ConcurrentHashMap<>();
+	private volatile EditorState state = EditorState.UNKNOWN;
+	private static WorkbenchEditorIndex instance = null;
+	private boolean connected;
+
+	private WorkbenchEditorIndex() {
+	}
+
+	/**
+	 * Returns the index without accessing the workbench, hence it can be called from any thread.
+	 *
+	 * @return the index, its state is {@link EditorState#UNKNOWN} until it gets started
+	 */
+	public static synchronized WorkbenchEditorIndex getInstance() {
+		if (instance == null) {
+			instance = new WorkbenchEditorIndex();
+		}
+		return instance;
+	}
+
+	/**
+	 * Connects the index to the workbench, unless already connected. Has to be called on the UI thread.
+	 */
+	public static synchronized void start() {
+		var index = getInstance();
+		if (index.connected || !PlatformUI.isWorkbenchRunning()) {
+			return;
+		}
+		index.connected = true;
+		var workbench = PlatformUI.getWorkbench();
+		workbench.addWindowListener(index);
+		Arrays.stream(workbench.getWorkbenchWindows()).forEach(index::connect);
+		index.publish(null);
+	}
+
+	/**
+	 * Connects the index in a UI job, for callers which are not on the UI thread.
+	 */
+	public static void startInWorkbench() {
+		var job = new UIJob("Connect editor index") { //$NON-NLS-1$
+
+			@Override
+			public IStatus runInUIThread(IProgressMonitor monitor) {
+				start();
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	public static synchronized void stop() {
+		if (instance != null) {
+			if (instance.connected && PlatformUI.isWorkbenchRunning()) {
+				var workbench = PlatformUI.getWorkbench();
+				workbench.removeWindowListener(instance);
+				Arrays.stream(workbench.getWorkbenchWindows()).map(IWorkbenchWindow::getPages)
+						.flatMap(Arrays::stream).forEach(p -> p.removePartListener(instance));
+			}
+			instance.byReference.clear();
+			instance.state = EditorState.UNKNOWN;
+			instance = null;
+		}
+	}
+
+	@Override
+	public EditorState state() {
+		return state;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return state.editors().isEmpty();
+	}
+
+	@Override
+	public Set<String> editorIds(URI uri) {
+		return state.editorIds(uri);
+	}
+
+	@Override
+	public Set<URI> uris(String editorId) {
+		return state.editors().entrySet().stream().filter(e -> e.getValue().contains(editorId)).map(Map.Entry::getKey)
+				.collect(Collectors.toUnmodifiableSet());
+	}
+
+	/**
+	 * Returns the C/C++ files opened in restored editors with the given id. The content type is checked on every
+	 * call, since the C/C++ content types may have changed since the editor got opened.
+	 *
+	 * @param editorId the editor id
+	 * @return map of the editor part hash codes to the URI of the opened file
+	 */
+	public Map<Integer, URI> files(String editorId) {
+		var files = new HashMap<Integer, URI>();
+		byReference.values().stream()
+				.filter(e -> e.editorId().equals(editorId) && e.partHash() != 0
+						&& LspUtils.checkForCContentType(e.editorInput()))
+				.forEach(e -> files.put(e.partHash(), e.uri()));
+		return files;
+	}
+
+	/**
+	 * Returns the URI of the given editor input.
+	 *
+	 * @param editorInput the editor input, may be {@code null}
+	 * @return the URI or {@code null} if it cannot be determined
+	 */
+	public static URI toUri(IEditorInput editorInput) {
+		if (editorInput instanceof IURIEditorInput uriEditorInput) {
+			return uriEditorInput.getURI();
+		} else if (editorInput instanceof FileEditorInput fileEditorInput) {
+			return fileEditorInput.getFile().getLocationURI();
+		}
+		return null;
+	}
+
+	private void connect(IWorkbenchWindow window) {
+		for (IWorkbenchPage page : window.getPages()) {
+			page.addPartListener(this);
+			Arrays.stream(page.getEditorReferences()).forEach(this::add);
+		}
+		publish(null);
+	}
+
+	private void add(IWorkbenchPartReference partRef) {
+		if (partRef instanceof IEditorReference editorRef) {
+			// never restore the editor here, the reference knows the input of an editor which has not been restored:
+			var part = editorRef.getEditor(false);
+			IEditorInput editorInput;
+			try {
+				editorInput = part != null ? part.getEditorInput() : editorRef.getEditorInput();
+			} catch (PartInitException e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+				byReference.remove(partRef);
+				return;
+			}
+			var uri = toUri(editorInput);
+			if (uri == null) {
+				byReference.remove(partRef);
+				return;
+			}
+			byReference.put(partRef, new Entry(editorRef.getId(), part != null ? part.hashCode() : 0, uri, editorInput));
+		}
+	}
+
+	/**
+	 * Records the part of an editor which has been restored since it got indexed.
+	 */
+	private void restored(IWorkbenchPartReference partRef) {
+		var entry = byReference.get(partRef);
+		if (entry != null && entry.partHash() == 0 && partRef.getPart(false) != null) {
+			add(partRef);
+		}
+	}
+
+	/**
+	 * Publishes a new editor state. Keeps the previous active editor when called from a non UI thread.
+	 *
+	 * @param closed the part which is about to be closed, {@code null} if none
+	 */
+	private synchronized void publish(IWorkbenchPart closed) {
+		var editors = byReference.values().stream().collect(Collectors.groupingBy(Entry::uri,
+				Collectors.mapping(Entry::editorId, Collectors.toUnmodifiableSet())));
+		var activeEditorId = Display.getCurrent() != null ? activeEditorId(closed) : state.activeEditorId();
+		state = new EditorState(activeEditorId, editors);
+	}
+
+	private static String activeEditorId(IWorkbenchPart closed) {
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return null;
+		}
+		var activeWorkbenchWindow = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+		if (activeWorkbenchWindow != null && activeWorkbenchWindow.getActivePage() != null) {
+			var activeEditor = activeWorkbenchWindow.getActivePage().getActiveEditor();
+			if (activeEditor != null && activeEditor != closed) {
+				return activeEditor.getEditorSite().getId();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void partActivated(IWorkbenchPartReference partRef) {
+		if (partRef instanceof IEditorReference) {
+			restored(partRef);
+			publish(null);
+		}
+	}
+
+	@Override
+	public void partBroughtToTop(IWorkbenchPartReference partRef) {
+		if (partRef instanceof IEditorReference) {
+			restored(partRef);
+			publish(null);
+		}
+	}
+
+	@Override
+	public void partVisible(IWorkbenchPartReference partRef) {
+		restored(partRef);
+	}
+
+	@Override
+	public void partOpened(IWorkbenchPartReference partRef) {
+		add(partRef);
+		publish(null);
+	}
+
+	@Override
+	public void partClosed(IWorkbenchPartReference partRef) {
+		byReference.remove(partRef);
+		publish(partRef.getPart(false));
+	}
+
+	@Override
+	public void partInputChanged(IWorkbenchPartReference partRef) {
+		add(partRef);
+		publish(null);
+	}
+
+	@Override
+	public void windowActivated(IWorkbenchWindow window) {
+		publish(null);
+	}
+
+	@Override
+	public void windowDeactivated(IWorkbenchWindow window) {
+		// do nothing
+	}
+
+	@Override
+	public void windowClosed(IWorkbenchWindow window) {
+		for (IWorkbenchPage page : window.getPages()) {
+			page.removePartListener(this);
+			Arrays.stream(page.getEditorReferences()).forEach(byReference::remove);
+		}
+		publish(null);
+	}
+
+	@Override
+	public void windowOpened(IWorkbenchWindow window) {
+		connect(window);
+	}
+
+}
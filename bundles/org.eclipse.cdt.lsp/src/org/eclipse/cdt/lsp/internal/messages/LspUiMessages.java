@@ -24,6 +24,10 @@ public class LspUiMessages extends NLS {
 	}
 
 	public static String NavigatorView_ErrorOnLoad;
+	public static String NavigatorView_InvalidateSymbols;
+	public static String NavigatorView_RefreshSymbols;
+	public static String NavigatorView_ShowNextSymbols;
+	public static String WorkspaceSymbolsView_Filter;
 
 	public static String LspEditorConfigurationPage_spelling_link;
 	public static String LspEditorConfigurationPage_spelling_link_tooltip;
@@ -41,6 +45,8 @@ public class LspUiMessages extends NLS {
 	public static String LspEditorConfigurationPage_gneral_behavior_group;
 	public static String LspEditorConfigurationPage_enableSubWordNavigation;
 	public static String LspEditorConfigurationPage_enableSubWordNavigation_description;
+	public static String LspEditorConfigurationPage_navigatorSymbolsPageSize;
+	public static String LspEditorConfigurationPage_navigatorSymbolsPageSize_description;
 
 	public static String SaveActionsConfigurationPage_FormatSourceCode;
 	public static String SaveActionsConfigurationPage_FormatSourceCode_description;
@@ -48,5 +54,9 @@ public class LspUiMessages extends NLS {
 	public static String SaveActionsConfigurationPage_FormatAllLines_description;
 	public static String SaveActionsConfigurationPage_FormatEditedLines;
 	public static String SaveActionsConfigurationPage_FormatEditedLines_description;
+	public static String SaveActionsConfigurationPage_FormatEditedLinesGap;
+	public static String SaveActionsConfigurationPage_FormatEditedLinesGap_description;
+	public static String SaveActionsConfigurationPage_FormatEditedLinesMaxRegions;
+	public static String SaveActionsConfigurationPage_FormatEditedLinesMaxRegions_description;
 
 }
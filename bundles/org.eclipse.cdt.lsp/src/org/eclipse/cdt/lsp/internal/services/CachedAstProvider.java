@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.services;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+import org.eclipse.cdt.lsp.services.ast.AstNode;
+import org.eclipse.cdt.lsp.services.ast.AstParams;
+import org.eclipse.cdt.lsp.services.ast.AstProvider;
+import org.eclipse.cdt.lsp.services.ast.CompactAst;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.IFileBufferListener;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+/**
+ * Caches the AST subtrees returned by clangd per document URI and version. The responses are read directly into
+ * {@link CompactAst}s, only the subtree returned to the caller gets materialized as {@link AstNode}s.
+ * A request for a range enclosed by a cached or currently running request is answered from that request.
+ * The least recently used documents get evicted when the cached trees exceed {@link #MAX_CACHED_NODES}, the trees of
+ * a document are dropped when its file buffer gets disposed, e.g. when its editor has been closed.
+ */
+@Component
+public final class CachedAstProvider implements AstProvider {
+	/**
+	 * Maximum number of AST nodes kept in the cache.
+	 */
+	private static final int MAX_CACHED_NODES = 1_000_000;
+
+	private record Request(Range range, CompletableFuture<Optional<CompactAst>> ast) {
+	}
+
+	private static final class DocumentAst {
+		private final long version;
+		private final List<Request> requests = new ArrayList<>();
+		private int nodes;
+
+		private DocumentAst(long version) {
+			this.version = version;
+		}
+	}
+
+	private final Map<URI, DocumentAst> documents = new LinkedHashMap<>(16, 0.75f, true);
+	private final int maxCachedNodes;
+	private final BiFunction<IDocument, AstParams, CompletableFuture<Optional<CompactAst>>> server;
+	private int cachedNodes;
+
+	private final IFileBufferListener fileBufferListener = new IFileBufferListener() {
+
+		@Override
+		public void bufferCreated(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void bufferDisposed(IFileBuffer buffer) {
+			var uri = LSPEclipseUtils.toUri(buffer);
+			if (uri != null) {
+				synchronized (CachedAstProvider.this) {
+					remove(uri);
+				}
+			}
+		}
+
+		@Override
+		public void underlyingFileMoved(IFileBuffer buffer, IPath path) {
+			bufferDisposed(buffer);
+		}
+
+		@Override
+		public void bufferContentAboutToBeReplaced(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void bufferContentReplaced(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void stateChanging(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void dirtyStateChanged(IFileBuffer buffer, boolean isDirty) {
+		}
+
+		@Override
+		public void stateValidationChanged(IFileBuffer buffer, boolean isStateValidated) {
+		}
+
+		@Override
+		public void underlyingFileDeleted(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void stateChangeFailed(IFileBuffer buffer) {
+		}
+	};
+
+	public CachedAstProvider() {
+		this(MAX_CACHED_NODES, CachedAstProvider::clangd);
+	}
+
+	/**
+	 * @param maxCachedNodes maximum number of AST nodes kept in the cache
+	 * @param server sends the AST request for a document to its language server
+	 */
+	public CachedAstProvider(int maxCachedNodes,
+			BiFunction<IDocument, AstParams, CompletableFuture<Optional<CompactAst>>> server) {
+		this.maxCachedNodes = maxCachedNodes;
+		this.server = server;
+	}
+
+	@Activate
+	public void activate() {
+		FileBuffers.getTextFileBufferManager().addFileBufferListener(fileBufferListener);
+	}
+
+	@Deactivate
+	public synchronized void deactivate() {
+		FileBuffers.getTextFileBufferManager().removeFileBufferListener(fileBufferListener);
+		documents.clear();
+		cachedNodes = 0;
+	}
+
+	@Override
+	public CompletableFuture<Optional<AstNode>> getAst(IDocument document, Range range) {
+		var uri = LSPEclipseUtils.toUri(document);
+		if (uri == null) {
+			return CompletableFuture.completedFuture(Optional.empty());
+		}
+		var version = document instanceof IDocumentExtension4 ext ? ext.getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		Request request;
+		synchronized (this) {
+			var ast = documents.get(uri);
+			if (ast == null || ast.version != version) {
+				remove(uri);
+				ast = new DocumentAst(version);
+				documents.put(uri, ast);
+			}
+			var enclosing = ast.requests.stream().filter(r -> contains(r.range(), range)).findFirst();
+			if (enclosing.isPresent()) {
+				request = enclosing.get();
+			} else {
+				request = new Request(range,
+						server.apply(document, new AstParams(LSPEclipseUtils.toTextDocumentIdentifier(uri), range)));
+				ast.requests.add(request);
+				final var cached = ast;
+				final var added = request;
+				request.ast().whenComplete((result, e) -> completed(uri, cached, added, result));
+			}
+		}
+		// a derived future, so cancelling it doesn't cancel the shared request:
+		return request.ast()
+				.thenApply(result -> result.map(ast -> ast.toAstNode(Math.max(0, ast.findEnclosing(range)))));
+	}
+
+	private static CompletableFuture<Optional<CompactAst>> clangd(IDocument document, AstParams params) {
+		return LanguageServers.forDocument(document).computeFirst(
+				server -> server instanceof ClangdLanguageServer clangd ? clangd.getAst(params) : null);
+	}
+
+	private synchronized void completed(URI uri, DocumentAst ast, Request request, Optional<CompactAst> result) {
+		if (documents.get(uri) != ast) {
+			// outdated in the meantime:
+			return;
+		}
+		int nodes = result == null ? 0 : result.map(CompactAst::size).orElse(0);
+		if (nodes == 0 || nodes > maxCachedNodes) {
+			ast.requests.remove(request);
+			return;
+		}
+		// drop the completed requests enclosed by the new one:
+		ast.requests.removeIf(r -> r != request && r.ast().isDone() && contains(request.range(), r.range()));
+		ast.nodes = ast.requests.stream().mapToInt(CachedAstProvider::count).sum();
+		cachedNodes = documents.values().stream().mapToInt(d -> d.nodes).sum();
+		var iterator = documents.entrySet().iterator();
+		while (cachedNodes > maxCachedNodes && iterator.hasNext()) {
+			var eldest = iterator.next();
+			if (eldest.getValue() != ast) {
+				cachedNodes -= eldest.getValue().nodes;
+				iterator.remove();
+			}
+		}
+	}
+
+	private void remove(URI uri) {
+		var removed = documents.remove(uri);
+		if (removed != null) {
+			cachedNodes -= removed.nodes;
+		}
+	}
+
+	private static int count(Request request) {
+		if (!request.ast().isDone() || request.ast().isCompletedExceptionally()) {
+			return 0;
+		}
+		return request.ast().join().map(CompactAst::size).orElse(0);
+	}
+
+	private static boolean contains(Range outer, Range inner) {
+		return compare(outer.getStart(), inner.getStart()) <= 0 && compare(inner.getEnd(), outer.getEnd()) <= 0;
+	}
+
+	private static int compare(Position a, Position b) {
+		return a.getLine() != b.getLine() ? Integer.compare(a.getLine(), b.getLine())
+				: Integer.compare(a.getCharacter(), b.getCharacter());
+	}
+
+}
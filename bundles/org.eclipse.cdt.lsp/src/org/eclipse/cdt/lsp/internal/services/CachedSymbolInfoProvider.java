@@ -0,0 +1,361 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.services;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+import org.eclipse.cdt.lsp.services.symbolinfo.SymbolDetails;
+import org.eclipse.cdt.lsp.services.symbolinfo.SymbolInfoProvider;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.IFileBufferListener;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+/**
+ * Caches the symbol details returned by clangd per document URI, version and offset.
+ * Uncached positions are queued and requested with at most {@link #MAX_CONCURRENT_REQUESTS} requests in flight
+ * over all callers, the results of a batch are combined into a single future.
+ * All returned symbols are additionally cached by USR, until a document containing their declaration or definition
+ * changes.
+ */
+@Component
+public final class CachedSymbolInfoProvider implements SymbolInfoProvider {
+	private static final int MAX_CONCURRENT_REQUESTS = 8;
+	private static final int MAX_CACHED_DOCUMENTS = 32;
+	private static final int MAX_CACHED_SYMBOLS = 50_000;
+
+	/**
+	 * Sends a <em>textDocument/symbolInfo</em> request to the language server of a document.
+	 */
+	@FunctionalInterface
+	public interface SymbolInfoRequester {
+		CompletableFuture<SymbolDetails[]> request(TextDocumentPositionParams params);
+	}
+
+	private record Pending(Position position, CompletableFuture<SymbolDetails[]> details) {
+	}
+
+	private record Request(SymbolInfoRequester server, TextDocumentPositionParams params,
+			CompletableFuture<SymbolDetails[]> details) {
+	}
+
+	private final Function<IDocument, CompletableFuture<Optional<SymbolInfoRequester>>> servers;
+	private final Queue<Request> queue = new ArrayDeque<>();
+	private int inFlight;
+
+	private static final class DocumentSymbols {
+		private final long version;
+		private final Map<Integer, CompletableFuture<SymbolDetails[]>> offsets = new HashMap<>();
+
+		private DocumentSymbols(long version) {
+			this.version = version;
+		}
+	}
+
+	private final Map<URI, DocumentSymbols> documents = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<URI, DocumentSymbols> eldest) {
+			return size() > MAX_CACHED_DOCUMENTS;
+		}
+	};
+
+	private final UsrCache usrCache = new UsrCache(MAX_CACHED_SYMBOLS);
+	private final Map<IDocument, URI> trackedDocuments = new ConcurrentHashMap<>();
+	private final IDocumentListener documentListener = new IDocumentListener() {
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			var uri = trackedDocuments.get(event.getDocument());
+			if (uri != null) {
+				usrCache.invalidate(uri);
+			}
+		}
+	};
+
+	/**
+	 * Tracks the documents of all text file buffers, so changes in documents which are not requested themselves,
+	 * e.g. an open header, invalidate the symbols declared in them.
+	 */
+	private final IFileBufferListener fileBufferListener = new IFileBufferListener() {
+
+		@Override
+		public void bufferCreated(IFileBuffer buffer) {
+			if (buffer instanceof ITextFileBuffer textFileBuffer) {
+				var uri = LSPEclipseUtils.toUri(buffer);
+				var document = textFileBuffer.getDocument();
+				if (uri != null && document != null && trackedDocuments.putIfAbsent(document, uri) == null) {
+					document.addDocumentListener(documentListener);
+				}
+			}
+		}
+
+		@Override
+		public void bufferDisposed(IFileBuffer buffer) {
+			if (buffer instanceof ITextFileBuffer textFileBuffer) {
+				var document = textFileBuffer.getDocument();
+				if (document != null && trackedDocuments.remove(document) != null) {
+					document.removeDocumentListener(documentListener);
+				}
+			}
+		}
+
+		@Override
+		public void underlyingFileMoved(IFileBuffer buffer, IPath path) {
+			bufferDisposed(buffer);
+			bufferCreated(buffer);
+		}
+
+		@Override
+		public void bufferContentAboutToBeReplaced(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void bufferContentReplaced(IFileBuffer buffer) {
+			var uri = LSPEclipseUtils.toUri(buffer);
+			if (uri != null) {
+				usrCache.invalidate(uri);
+			}
+		}
+
+		@Override
+		public void stateChanging(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void dirtyStateChanged(IFileBuffer buffer, boolean isDirty) {
+		}
+
+		@Override
+		public void stateValidationChanged(IFileBuffer buffer, boolean isStateValidated) {
+		}
+
+		@Override
+		public void underlyingFileDeleted(IFileBuffer buffer) {
+		}
+
+		@Override
+		public void stateChangeFailed(IFileBuffer buffer) {
+		}
+	};
+
+	public CachedSymbolInfoProvider() {
+		this(CachedSymbolInfoProvider::clangd);
+	}
+
+	/**
+	 * @param servers finds the language server to send the requests for a document to, empty if there is none
+	 */
+	public CachedSymbolInfoProvider(Function<IDocument, CompletableFuture<Optional<SymbolInfoRequester>>> servers) {
+		this.servers = servers;
+	}
+
+	@Activate
+	public void activate() {
+		var bufferManager = FileBuffers.getTextFileBufferManager();
+		bufferManager.addFileBufferListener(fileBufferListener);
+		for (var buffer : bufferManager.getFileBuffers()) {
+			fileBufferListener.bufferCreated(buffer);
+		}
+	}
+
+	@Deactivate
+	public void deactivate() {
+		FileBuffers.getTextFileBufferManager().removeFileBufferListener(fileBufferListener);
+		trackedDocuments.keySet().forEach(document -> document.removeDocumentListener(documentListener));
+		trackedDocuments.clear();
+		usrCache.clear();
+		synchronized (queue) {
+			queue.forEach(request -> request.details().cancel(true));
+			queue.clear();
+		}
+	}
+
+	@Override
+	public Optional<SymbolDetails> getSymbolDetails(String usr) {
+		return usrCache.get(usr);
+	}
+
+	@Override
+	public Statistics getStatistics() {
+		return usrCache.statistics();
+	}
+
+	@Override
+	public CompletableFuture<Map<Position, List<SymbolDetails>>> getSymbolInfo(IDocument document,
+			Collection<Position> positions) {
+		var uri = LSPEclipseUtils.toUri(document);
+		if (uri == null) {
+			return CompletableFuture.completedFuture(empty(positions));
+		}
+		var version = document instanceof IDocumentExtension4 ext ? ext.getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		var requested = new LinkedHashMap<Position, CompletableFuture<SymbolDetails[]>>();
+		var pending = new ArrayList<Pending>();
+		synchronized (this) {
+			var symbols = documents.get(uri);
+			if (symbols == null || symbols.version != version) {
+				symbols = new DocumentSymbols(version);
+				documents.put(uri, symbols);
+			}
+			for (var position : positions) {
+				final int offset;
+				try {
+					offset = LSPEclipseUtils.toOffset(position, document);
+				} catch (BadLocationException e) {
+					requested.put(position, CompletableFuture.completedFuture(new SymbolDetails[0]));
+					continue;
+				}
+				final var cached = symbols;
+				var details = symbols.offsets.computeIfAbsent(offset, key -> {
+					var future = new CompletableFuture<SymbolDetails[]>();
+					// don't cache failures, e.g. a cancelled request:
+					future.whenComplete((r, e) -> {
+						if (e != null) {
+							remove(cached, offset, future);
+						}
+					});
+					pending.add(new Pending(position, future));
+					return future;
+				});
+				requested.put(position, details);
+			}
+		}
+		if (!pending.isEmpty()) {
+			var identifier = LSPEclipseUtils.toTextDocumentIdentifier(uri);
+			servers.apply(document).thenAccept(server -> {
+				if (server.isEmpty()) {
+					pending.forEach(p -> p.details().complete(new SymbolDetails[0]));
+					return;
+				}
+				synchronized (queue) {
+					pending.forEach(p -> queue.add(new Request(server.get(),
+							new TextDocumentPositionParams(identifier, p.position()), p.details())));
+				}
+				dispatch();
+			}).exceptionally(e -> {
+				pending.forEach(p -> p.details().completeExceptionally(e));
+				return null;
+			});
+		}
+		return CompletableFuture.allOf(requested.values().toArray(CompletableFuture[]::new))
+				.thenApply(v -> deduplicate(requested));
+	}
+
+	private static CompletableFuture<Optional<SymbolInfoRequester>> clangd(IDocument document) {
+		return LanguageServers.forDocument(document).computeFirst(
+				(wrapper, server) -> server instanceof ClangdLanguageServer ? CompletableFuture.completedFuture(wrapper)
+						: null)
+				.thenApply(wrapper -> wrapper.<SymbolInfoRequester>map(w -> params -> w
+						.execute(server -> ((ClangdLanguageServer) server).getSymbolInfo(params))));
+	}
+
+	/**
+	 * Sends queued requests as long as less than {@link #MAX_CONCURRENT_REQUESTS} are in flight.
+	 */
+	private void dispatch() {
+		while (true) {
+			final Request next;
+			synchronized (queue) {
+				if (inFlight >= MAX_CONCURRENT_REQUESTS || queue.isEmpty()) {
+					return;
+				}
+				next = queue.poll();
+				inFlight++;
+			}
+			send(next);
+		}
+	}
+
+	private void send(Request next) {
+		CompletableFuture<SymbolDetails[]> response;
+		try {
+			response = next.server().request(next.params());
+		} catch (RuntimeException e) {
+			response = CompletableFuture.failedFuture(e);
+		}
+		response.whenComplete((r, e) -> {
+			if (e != null) {
+				next.details().completeExceptionally(e);
+			} else {
+				var details = r == null ? new SymbolDetails[0] : r;
+				for (var detail : details) {
+					usrCache.put(detail);
+				}
+				next.details().complete(details);
+			}
+			synchronized (queue) {
+				inFlight--;
+			}
+			dispatch();
+		});
+	}
+
+	private synchronized void remove(DocumentSymbols symbols, int offset, CompletableFuture<SymbolDetails[]> future) {
+		symbols.offsets.remove(offset, future);
+	}
+
+	private static Map<Position, List<SymbolDetails>> deduplicate(
+			Map<Position, CompletableFuture<SymbolDetails[]>> requested) {
+		var byUsr = new HashMap<String, SymbolDetails>();
+		var result = new LinkedHashMap<Position, List<SymbolDetails>>();
+		requested.forEach((position, future) -> {
+			var details = new ArrayList<SymbolDetails>();
+			for (var detail : future.join()) {
+				var usr = detail.getUsr();
+				details.add(usr == null || usr.isEmpty() ? detail : byUsr.computeIfAbsent(usr, key -> detail));
+			}
+			result.put(position, details);
+		});
+		return result;
+	}
+
+	private static Map<Position, List<SymbolDetails>> empty(Collection<Position> positions) {
+		var result = new LinkedHashMap<Position, List<SymbolDetails>>();
+		positions.forEach(position -> result.put(position, List.of()));
+		return result;
+	}
+
+}
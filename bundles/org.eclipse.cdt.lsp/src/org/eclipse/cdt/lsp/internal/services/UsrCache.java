@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.services;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.eclipse.cdt.lsp.services.symbolinfo.RangeAndUri;
+import org.eclipse.cdt.lsp.services.symbolinfo.SymbolDetails;
+import org.eclipse.cdt.lsp.services.symbolinfo.SymbolInfoProvider.Statistics;
+
+/**
+ * Bounded cache of {@link SymbolDetails} keyed by their USR, which is stable across documents and editors.
+ * The least recently used symbols get evicted. The symbols declared or defined in a document get invalidated
+ * when that document changes, since their ranges may have moved.
+ * All methods are thread safe.
+ */
+public final class UsrCache {
+	private final int maxSize;
+	private final Map<String, SymbolDetails> symbols;
+	/**
+	 * The USRs per path of the documents containing their declaration or definition.
+	 */
+	private final Map<String, Set<String>> documents = new HashMap<>();
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * @param maxSize maximum number of cached symbols
+	 */
+	public UsrCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.symbols = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, SymbolDetails> eldest) {
+				if (size() > UsrCache.this.maxSize) {
+					evictions++;
+					unindex(eldest.getKey(), eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Adds or replaces a symbol, symbols without USR are ignored.
+	 *
+	 * @param details the symbol
+	 */
+	public synchronized void put(SymbolDetails details) {
+		var usr = details.getUsr();
+		if (usr == null || usr.isEmpty()) {
+			return;
+		}
+		var previous = symbols.put(usr, details);
+		if (previous != null) {
+			unindex(usr, previous);
+		}
+		locations(details).forEach(path -> documents.computeIfAbsent(path, key -> new HashSet<>()).add(usr));
+	}
+
+	public synchronized Optional<SymbolDetails> get(String usr) {
+		var details = symbols.get(usr);
+		if (details == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return Optional.ofNullable(details);
+	}
+
+	/**
+	 * Removes the symbols declared or defined in the given document.
+	 *
+	 * @param uri the document
+	 */
+	public synchronized void invalidate(URI uri) {
+		var usrs = documents.remove(path(uri));
+		if (usrs != null) {
+			usrs.forEach(usr -> {
+				var removed = symbols.remove(usr);
+				if (removed != null) {
+					unindex(usr, removed);
+				}
+			});
+		}
+	}
+
+	public synchronized void clear() {
+		symbols.clear();
+		documents.clear();
+	}
+
+	public synchronized Statistics statistics() {
+		return new Statistics(hits, misses, evictions, symbols.size());
+	}
+
+	private void unindex(String usr, SymbolDetails details) {
+		locations(details).forEach(path -> {
+			var usrs = documents.get(path);
+			if (usrs != null) {
+				usrs.remove(usr);
+				if (usrs.isEmpty()) {
+					documents.remove(path);
+				}
+			}
+		});
+	}
+
+	private static Stream<String> locations(SymbolDetails details) {
+		return Stream.of(details.getDeclarationRange(), details.getDefinitionRange()).filter(r -> r != null)
+				.map(RangeAndUri::getUri).filter(uri -> uri != null).map(uri -> path(URI.create(uri)));
+	}
+
+	/**
+	 * clangd sends {@code file:///path} whereas Eclipse creates {@code file:/path}, hence compare the paths.
+	 */
+	private static String path(URI uri) {
+		return uri.getPath() != null ? uri.getPath() : uri.toString();
+	}
+
+}
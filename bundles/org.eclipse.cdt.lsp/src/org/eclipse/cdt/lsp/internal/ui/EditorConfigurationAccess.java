@@ -12,23 +12,22 @@
 
 package org.eclipse.cdt.lsp.internal.ui;
 
-import java.util.Optional;
-
 import org.eclipse.cdt.lsp.LspQualifier;
 import org.eclipse.cdt.lsp.config.ConfigurationAccess;
 import org.eclipse.cdt.lsp.editor.EditorConfiguration;
 import org.eclipse.cdt.lsp.editor.EditorMetadata;
 import org.eclipse.cdt.lsp.editor.EditorOptions;
 import org.eclipse.cdt.lsp.editor.LanguageServerEnable;
+import org.eclipse.cdt.lsp.internal.config.CachedOptions;
 import org.eclipse.cdt.lsp.internal.editor.EditorPreferredOptions;
 import org.eclipse.core.resources.IWorkspace;
-import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IPreferenceMetadataStore;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.core.runtime.preferences.OsgiPreferenceMetadataStore;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 
@@ -44,10 +43,18 @@ public class EditorConfigurationAccess extends ConfigurationAccess implements Ed
 	@Reference(cardinality = ReferenceCardinality.OPTIONAL)
 	private LanguageServerEnable enable;
 
+	private final CachedOptions<EditorOptions> cachedOptions = new CachedOptions<>(qualifier,
+			(scopes, values) -> new EditorPreferredOptions(metadata, qualifier, scopes, enable, values));
+
 	public EditorConfigurationAccess() {
 		super(new LspQualifier().get());
 	}
 
+	@Deactivate
+	public void deactivate() {
+		cachedOptions.dispose();
+	}
+
 	@Override
 	public EditorOptions defaults() {
 		return new EditorPreferredOptions(metadata, qualifier, new IScopeContext[] { DefaultScope.INSTANCE }, enable);
@@ -55,14 +62,7 @@ public class EditorConfigurationAccess extends ConfigurationAccess implements Ed
 
 	@Override
 	public EditorOptions options(Object context) {
-		Optional<ProjectScope> project = projectScope(workspace, context);
-		IScopeContext[] scopes;
-		if (project.isPresent()) {
-			scopes = new IScopeContext[] { project.get(), InstanceScope.INSTANCE, DefaultScope.INSTANCE };
-		} else {
-			scopes = new IScopeContext[] { InstanceScope.INSTANCE, DefaultScope.INSTANCE };
-		}
-		return new EditorPreferredOptions(metadata, qualifier, scopes, enable);
+		return cachedOptions.get(projectScope(workspace, context));
 	}
 
 	@Override
@@ -24,11 +24,15 @@ import org.eclipse.cdt.lsp.ui.EditorConfigurationPage;
 import org.eclipse.cdt.utils.ui.controls.ControlFactory;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.OsgiPreferenceMetadataStore;
+import org.eclipse.core.runtime.preferences.PreferenceMetadata;
+import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.ui.PlatformUI;
 
 public final class EditorConfigurationArea extends ConfigurationArea<EditorOptions> {
@@ -36,6 +40,7 @@ public final class EditorConfigurationArea extends ConfigurationArea<EditorOptio
 	private final Button prefer;
 	private final Button showBanner;
 	private final Button enableSubWordNavigation;
+	private final Spinner navigatorSymbolsPageSize;
 	private ConfigurationVisibility visibility;
 
 	public EditorConfigurationArea(Composite parent, boolean isProjectScope) {
@@ -55,19 +60,41 @@ public final class EditorConfigurationArea extends ConfigurationArea<EditorOptio
 			this.prefer = null;
 			this.showBanner = null;
 		}
-		this.enableSubWordNavigation = isProjectScope ? null : createSubWordNavigationButton(composite);
+		if (isProjectScope) {
+			this.enableSubWordNavigation = null;
+			this.navigatorSymbolsPageSize = null;
+		} else {
+			Composite behaviorComposite = ControlFactory.createGroup(composite,
+					LspUiMessages.LspEditorConfigurationPage_gneral_behavior_group, 1);
+			this.enableSubWordNavigation = createButton(EditorMetadata.Predefined.enableSubWordNavigation,
+					behaviorComposite, SWT.CHECK, 0);
+			this.navigatorSymbolsPageSize = createSpinner(EditorMetadata.Predefined.navigatorSymbolsPageSize,
+					behaviorComposite, 10, 10000);
+		}
 	}
 
-	private Button createSubWordNavigationButton(Composite parent) {
-		Composite behaviorComposite = ControlFactory.createGroup(parent,
-				LspUiMessages.LspEditorConfigurationPage_gneral_behavior_group, 1);
-		return createButton(EditorMetadata.Predefined.enableSubWordNavigation, behaviorComposite, SWT.CHECK, 0);
+	private Spinner createSpinner(PreferenceMetadata<Integer> meta, Composite parent, int minimum, int maximum) {
+		Composite composite = new Composite(parent, SWT.NONE);
+		composite.setLayoutData(GridDataFactory.fillDefaults().span(columns, 1).create());
+		composite.setLayout(GridLayoutFactory.fillDefaults().numColumns(2).create());
+		Label label = new Label(composite, SWT.NONE);
+		label.setText(meta.name());
+		label.setToolTipText(meta.description());
+		Spinner spinner = new Spinner(composite, SWT.BORDER);
+		spinner.setMinimum(minimum);
+		spinner.setMaximum(maximum);
+		spinner.setToolTipText(meta.description());
+		spinner.setData(meta);
+		return spinner;
 	}
 
 	@Override
 	public void store(IEclipsePreferences prefs) {
 		OsgiPreferenceMetadataStore store = new OsgiPreferenceMetadataStore(prefs);
 		buttons.entrySet().forEach(e -> store.save(e.getValue().getSelection(), e.getKey()));
+		if (navigatorSymbolsPageSize != null) {
+			store.save(navigatorSymbolsPageSize.getSelection(), EditorMetadata.Predefined.navigatorSymbolsPageSize);
+		}
 	}
 
 	@Override
@@ -83,6 +110,9 @@ public final class EditorConfigurationArea extends ConfigurationArea<EditorOptio
 		if (enableSubWordNavigation != null) {
 			enableSubWordNavigation.setSelection(options.enableSubWordNavigation());
 		}
+		if (navigatorSymbolsPageSize != null) {
+			navigatorSymbolsPageSize.setSelection(options.navigatorSymbolsPageSize());
+		}
 	}
 
 	@Override
@@ -13,26 +13,114 @@
 
 package org.eclipse.cdt.lsp.internal.ui.navigator;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
+import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.ui.navigator.CNavigatorContentProvider;
+import org.eclipse.cdt.lsp.editor.EditorConfiguration;
+import org.eclipse.cdt.lsp.editor.EditorMetadata;
 import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.jface.viewers.IOpenListener;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.ITreeViewerListener;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.outline.SymbolsModel.DocumentSymbolWithURI;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.model.WorkbenchAdapter;
 import org.eclipse.ui.progress.DeferredTreeContentManager;
 import org.eclipse.ui.progress.IDeferredWorkbenchAdapter;
+import org.eclipse.ui.progress.IElementCollector;
 
 public class CSymbolsContentProvider extends CNavigatorContentProvider {
 
-	private final SymbolsManager symbolsManager = SymbolsManager.INSTANCE;
+	private final SymbolsManager symbolsManager = SymbolsManager.getInstance();
 	private DeferredCSymbolLoader loader;
 	private Object currentInput;
+	private volatile AbstractTreeViewer treeViewer;
+
+	/**
+	 * Cancels the pending symbol request of a translation unit when its tree node gets collapsed, and drops the pages
+	 * of the collapsed translation units.
+	 */
+	private final ITreeViewerListener collapseListener = new ITreeViewerListener() {
+
+		@Override
+		public void treeExpanded(TreeExpansionEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void treeCollapsed(TreeExpansionEvent event) {
+			if (loader == null) {
+				return;
+			}
+			if (event.getElement() instanceof ITranslationUnit unit) {
+				loader.cancel(unit);
+			}
+			loader.forgetPages(event.getElement());
+		}
+	};
+
+	/**
+	 * Drops the pages of a translation unit whose symbols have been evicted from the symbols cache.
+	 */
+	private final Consumer<URI> evictedListener = uri -> {
+		var viewer = treeViewer;
+		if (viewer == null || viewer.getControl() == null || viewer.getControl().isDisposed()) {
+			return;
+		}
+		viewer.getControl().getDisplay().asyncExec(() -> {
+			if (loader != null) {
+				loader.forgetPages(uri);
+			}
+		});
+	};
+
+	/**
+	 * Refreshes the symbols of an expanded translation unit whose document has been changed.
+	 */
+	private final Consumer<URI> outdatedListener = uri -> {
+		var viewer = treeViewer;
+		var file = LSPEclipseUtils.getFileHandle(uri);
+		if (viewer == null || file == null || viewer.getControl() == null || viewer.getControl().isDisposed()) {
+			return;
+		}
+		viewer.getControl().getDisplay().asyncExec(() -> {
+			if (!viewer.getControl().isDisposed() && CoreModel.getDefault().create(file) instanceof ITranslationUnit unit
+					&& viewer.getExpandedState(unit)) {
+				viewer.refresh(unit);
+			}
+		});
+	};
+
+	/**
+	 * Shows the next page of symbols when the {@link SymbolPages.NextPage} element gets opened.
+	 */
+	private final IOpenListener nextPageListener = event -> {
+		if (event.getSelection() instanceof IStructuredSelection selection
+				&& selection.getFirstElement() instanceof SymbolPages.NextPage nextPage && loader != null) {
+			loader.showNextPage(nextPage);
+		}
+	};
 
 	private static final WorkbenchAdapter ERROR_ELEMENT = new WorkbenchAdapter() {
 
@@ -47,8 +135,12 @@ public class CSymbolsContentProvider extends CNavigatorContentProvider {
 		if (currentInput != null && loader != null) {
 			loader.cancel(currentInput);
 		}
+		if (loader != null) {
+			loader.forgetPages();
+		}
 		currentInput = null;
-		symbolsManager.dispose();
+		// unregisters the listeners of this provider only, the symbols manager is shared and stopped with the plug-in:
+		setTreeViewer(null);
 		loader = null;
 		super.dispose();
 	}
@@ -58,13 +150,36 @@ public class CSymbolsContentProvider extends CNavigatorContentProvider {
 		if (oldInput != null && loader != null) {
 			loader.cancel(oldInput);
 		}
+		if (loader != null) {
+			loader.forgetPages();
+		}
 		currentInput = newInput;
 		if (viewer instanceof AbstractTreeViewer && newInput != null) {
 			loader = new DeferredCSymbolLoader((AbstractTreeViewer) viewer, (IDeferredWorkbenchAdapter) symbolsManager);
 		}
+		setTreeViewer(viewer instanceof AbstractTreeViewer tree ? tree : null);
 		super.inputChanged(viewer, oldInput, newInput);
 	}
 
+	private void setTreeViewer(AbstractTreeViewer viewer) {
+		if (treeViewer == viewer) {
+			return;
+		}
+		if (treeViewer != null && treeViewer.getControl() != null && !treeViewer.getControl().isDisposed()) {
+			treeViewer.removeTreeListener(collapseListener);
+			treeViewer.removeOpenListener(nextPageListener);
+		}
+		symbolsManager.removeOutdatedListener(outdatedListener);
+		symbolsManager.removeEvictedListener(evictedListener);
+		treeViewer = viewer;
+		if (treeViewer != null) {
+			treeViewer.addTreeListener(collapseListener);
+			treeViewer.addOpenListener(nextPageListener);
+			symbolsManager.addOutdatedListener(outdatedListener);
+			symbolsManager.addEvictedListener(evictedListener);
+		}
+	}
+
 	@Override
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public void getPipelinedChildren(Object parent, Set currentChildren) {
@@ -82,7 +197,8 @@ public class CSymbolsContentProvider extends CNavigatorContentProvider {
 	@Override
 	public Object[] getChildren(Object parentElement) {
 		if (parentElement instanceof DocumentSymbolWithURI) {
-			return symbolsManager.getChildren(parentElement);
+			var prefetched = loader != null ? loader.prefetchedChildren(parentElement) : null;
+			return prefetched != null ? prefetched : symbolsManager.getChildren(parentElement);
 		} else if (parentElement instanceof ITranslationUnit unit) {
 			return getTranslationUnitChildren(unit);
 		}
@@ -91,18 +207,27 @@ public class CSymbolsContentProvider extends CNavigatorContentProvider {
 
 	@Override
 	protected Object[] getTranslationUnitChildren(ITranslationUnit unit) {
+		var symbols = symbolsManager.getTranslationUnitElements(unit);
 		if (!symbolsManager.isDirty(unit)) {
-			var symbols = symbolsManager.getTranslationUnitElements(unit);
 			if (symbols != null) {
-				return symbols;
+				return paged(unit, symbols);
 			}
 		}
+		if (loader != null && symbols != null && symbols.length > 0) {
+			// keep showing the previous symbols, the differences get applied once the refreshed symbols have been loaded:
+			loader.refresh(unit, symbols);
+			return paged(unit, symbols);
+		}
 		if (loader != null) {
 			return loader.getChildren(unit);
 		}
 		return NO_CHILDREN;
 	}
 
+	private Object[] paged(Object parent, Object[] children) {
+		return loader != null ? loader.paged(parent, children) : children;
+	}
+
 	/**
 	 * A variant of {@link DeferredTreeContentManager}. By adding a fixed {@link IDeferredWorkbenchAdapter}
 	 * we avoid to implement an adapter for {@link ITranslationUnit} to {@code IDeferredWorkbenchAdapter}.
@@ -117,10 +242,14 @@ public class CSymbolsContentProvider extends CNavigatorContentProvider {
 	private static class DeferredCSymbolLoader extends DeferredTreeContentManager {
 		private final IDeferredWorkbenchAdapter adapter;
 		private final AbstractTreeViewer viewer;
+		private final Map<Object, SymbolPages> pages = new HashMap<>();
 		/**
-		 * maximum children of a translation unit to be shown in Project Explorer when TU gets expanded. Prevents longer UI freezes.
+		 * maximum number of changes which are applied with redraw enabled.
 		 */
-		private static final int MAX_INITIAL_CHILDREN = 100;
+		private static final int MAX_INCREMENTAL_CHANGES = 20;
+
+		private record RefreshFamily(DeferredCSymbolLoader loader, Object parent) {
+		}
 
 		public DeferredCSymbolLoader(AbstractTreeViewer viewer, IDeferredWorkbenchAdapter adapter) {
 			super(viewer);
@@ -133,6 +262,306 @@ public class CSymbolsContentProvider extends CNavigatorContentProvider {
 			return adapter;
 		}
 
+		@Override
+		public void cancel(Object parent) {
+			super.cancel(parent);
+			Job.getJobManager().cancel(new RefreshFamily(this, parent));
+		}
+
+		/**
+		 * The number of children of a translation unit shown per page in Project Explorer.
+		 * Prevents longer UI freezes on files with many symbols.
+		 */
+		private int pageSize() {
+			var configuration = PlatformUI.getWorkbench().getService(EditorConfiguration.class);
+			var workspace = PlatformUI.getWorkbench().getService(IWorkspace.class);
+			var pageSize = configuration != null ? configuration.options(workspace).navigatorSymbolsPageSize() : 0;
+			return pageSize > 0 ? pageSize : EditorMetadata.Predefined.navigatorSymbolsPageSize.defaultValue();
+		}
+
+		/**
+		 * Returns the children to be shown for the given parent. If there are more children than fit on a page,
+		 * the pages shown so far are returned, followed by a {@link SymbolPages.NextPage} element.
+		 * Must be called from the UI thread.
+		 *
+		 * @param parent the tree node
+		 * @param children all children of the tree node
+		 * @return the visible children
+		 */
+		public Object[] paged(Object parent, Object[] children) {
+			var current = pages.get(parent);
+			if (current != null && sameSymbols(current.children(), children)) {
+				return current.visible();
+			}
+			if (current != null) {
+				pages.remove(parent);
+			}
+			if (children.length <= pageSize()) {
+				return children;
+			}
+			var paged = new SymbolPages(parent, children, pageSize());
+			pages.put(parent, paged);
+			var visible = paged.visible();
+			prefetch(paged);
+			return visible;
+		}
+
+		/**
+		 * Prepares the next page once the shown pages have been added to the viewer, so opening the
+		 * {@link SymbolPages.NextPage} element only needs to create the tree items.
+		 *
+		 * @param paged the pages whose next page gets prepared
+		 */
+		private void prefetch(SymbolPages paged) {
+			Control control = viewer.getControl();
+			if (control == null || control.isDisposed() || paged.nextPageElement() == null) {
+				return;
+			}
+			control.getDisplay().asyncExec(() -> {
+				if (!control.isDisposed() && pages.get(paged.parent()) == paged) {
+					paged.prefetch(adapter::getChildren);
+				}
+			});
+		}
+
+		/**
+		 * Returns the children of a symbol of a page which have been prepared by {@link #prefetch(SymbolPages)}.
+		 * Must be called from the UI thread.
+		 *
+		 * @param element the symbol
+		 * @return the prepared children, {@code null} if not prepared
+		 */
+		public Object[] prefetchedChildren(Object element) {
+			for (var paged : pages.values()) {
+				var children = paged.prefetchedChildren(element);
+				if (children != null) {
+					return children;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * The symbols model returns new wrappers on every call, so the children are compared by the identity of the
+		 * wrapped symbols, which only change when the model gets updated. This avoids a deep comparison of the
+		 * symbols on every call.
+		 */
+		private static boolean sameSymbols(Object[] current, Object[] children) {
+			if (current == children) {
+				return true;
+			}
+			if (current.length != children.length) {
+				return false;
+			}
+			for (int i = 0; i < current.length; i++) {
+				var same = current[i] == children[i]
+						|| (current[i] instanceof DocumentSymbolWithURI a && children[i] instanceof DocumentSymbolWithURI b
+								&& a.symbol == b.symbol && a.uri.equals(b.uri));
+				if (!same) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Drops the pages of the given element and of the translation units below it, e.g. when it has been collapsed.
+		 * The pages stay referenced by a {@link SymbolPages.NextPage} element still in the tree, which registers them
+		 * again when opened.
+		 *
+		 * @param element the collapsed element
+		 */
+		public void forgetPages(Object element) {
+			var resource = Adapters.adapt(element, IResource.class);
+			pages.keySet()
+					.removeIf(parent -> parent.equals(element) || (resource != null
+							&& parent instanceof ITranslationUnit unit
+							&& resource.getFullPath().isPrefixOf(unit.getPath())));
+		}
+
+		/**
+		 * Drops the pages of the translation unit with the given location.
+		 *
+		 * @param uri the location of the translation unit
+		 */
+		public void forgetPages(URI uri) {
+			pages.keySet().removeIf(parent -> parent instanceof ITranslationUnit unit
+					&& uri.equals(unit.getLocationURI()));
+		}
+
+		public void forgetPages() {
+			pages.clear();
+		}
+
+		/**
+		 * Replaces the {@link SymbolPages.NextPage} element by the next page of children. Must be called from the UI thread.
+		 *
+		 * @param nextPage the element which has been opened
+		 */
+		public void showNextPage(SymbolPages.NextPage nextPage) {
+			var paged = nextPage.pages();
+			if (paged.nextPageElement() != nextPage) {
+				return; // outdated
+			}
+			var current = pages.putIfAbsent(paged.parent(), paged);
+			if (current != null && current != paged) {
+				return; // outdated
+			}
+			Control control = viewer.getControl();
+			try {
+				control.setRedraw(false);
+				viewer.remove(nextPage);
+				viewer.add(paged.parent(), paged.nextPage());
+				if (paged.nextPageElement() != null) {
+					viewer.add(paged.parent(), paged.nextPageElement());
+				}
+			} finally {
+				control.setRedraw(true);
+			}
+			prefetch(paged);
+		}
+
+		/**
+		 * Loads the symbols of the given parent in the background and applies the differences to the shown children.
+		 *
+		 * @param parent the parent whose symbols are outdated
+		 * @param oldChildren the children currently shown
+		 */
+		public void refresh(Object parent, Object[] oldChildren) {
+			var family = new RefreshFamily(this, parent);
+			if (Job.getJobManager().find(family).length > 0) {
+				return;
+			}
+			// the pages may be forgotten when the parent gets collapsed, while their items stay in the tree:
+			var shownPages = pages.get(parent);
+			var job = new Job(LspUiMessages.NavigatorView_RefreshSymbols) {
+
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					var newChildren = new ArrayList<Object>();
+					adapter.fetchDeferredChildren(parent, new IElementCollector() {
+
+						@Override
+						public void add(Object element, IProgressMonitor monitor) {
+							newChildren.add(element);
+						}
+
+						@Override
+						public void add(Object[] elements, IProgressMonitor monitor) {
+							newChildren.addAll(Arrays.asList(elements));
+						}
+
+						@Override
+						public void done() {
+							// nothing to do
+						}
+					}, monitor);
+					if (monitor.isCanceled()) {
+						return Status.CANCEL_STATUS;
+					}
+					update(parent, shownPages, oldChildren, newChildren.toArray());
+					return Status.OK_STATUS;
+				}
+
+				@Override
+				public boolean belongsTo(Object jobFamily) {
+					return family.equals(jobFamily);
+				}
+			};
+			job.setSystem(true);
+			job.setRule(adapter.getRule(parent));
+			job.schedule();
+		}
+
+		/**
+		 * Applies the differences between the shown and the refreshed children to the viewer. Unchanged children keep
+		 * their tree items, replaced children get the expansion state of their predecessor. Of paged children only the
+		 * materialized pages are compared, the {@link SymbolPages.NextPage} element stays in place.
+		 */
+		private void update(Object parent, SymbolPages shownPages, Object[] oldChildren, Object[] newChildren) {
+			Control control = viewer.getControl();
+			if (control == null || control.isDisposed()) {
+				return;
+			}
+			control.getDisplay().asyncExec(() -> {
+				if (control.isDisposed()) {
+					return;
+				}
+				var registered = pages.get(parent);
+				var paged = registered != null ? registered : shownPages;
+				var oldNextPage = paged != null ? paged.nextPageElement() : null;
+				Object[] oldShown;
+				Object[] newShown;
+				if (paged != null) {
+					oldShown = paged.shown();
+					newShown = paged.refresh(newChildren);
+				} else if (newChildren.length > pageSize()) {
+					paged = registered = new SymbolPages(parent, newChildren, pageSize());
+					oldShown = oldChildren;
+					newShown = paged.nextPage();
+				} else {
+					oldShown = oldChildren;
+					newShown = newChildren;
+				}
+				var newNextPage = paged != null ? paged.nextPageElement() : null;
+				if (registered != null && newNextPage != null) {
+					pages.put(parent, registered);
+				} else {
+					pages.remove(parent);
+				}
+				var changes = SymbolTreeDiff.compute(oldShown, newShown);
+				if (changes.isEmpty() && oldNextPage == newNextPage) {
+					if (newNextPage != null) {
+						// the number of remaining children may have changed:
+						viewer.update(newNextPage, null);
+						prefetch(paged);
+					}
+					return;
+				}
+				var expanded = new HashSet<>(Arrays.asList(viewer.getExpandedElements()));
+				var bulk = changes.size() > MAX_INCREMENTAL_CHANGES;
+				try {
+					if (bulk) {
+						control.setRedraw(false);
+					}
+					if (oldNextPage != null && oldNextPage != newNextPage) {
+						viewer.remove(oldNextPage);
+					}
+					for (var change : changes) {
+						switch (change) {
+						case SymbolTreeDiff.Remove remove -> viewer.remove(remove.element());
+						case SymbolTreeDiff.Insert insert -> viewer.insert(parent, insert.element(), insert.index());
+						case SymbolTreeDiff.Replace replace -> {
+							viewer.remove(replace.oldElement());
+							viewer.insert(parent, replace.newElement(), replace.index());
+							restoreExpansion(replace.oldElement(), replace.newElement(), expanded);
+						}
+						}
+					}
+					if (newNextPage != null && newNextPage != oldNextPage) {
+						viewer.add(parent, newNextPage);
+					} else if (newNextPage != null) {
+						viewer.update(newNextPage, null);
+					}
+				} finally {
+					if (bulk) {
+						control.setRedraw(true);
+					}
+				}
+				if (paged != null) {
+					prefetch(paged);
+				}
+			});
+		}
+
+		private void restoreExpansion(Object oldElement, Object newElement, Set<Object> expanded) {
+			if (!expanded.contains(oldElement)) {
+				return;
+			}
+			viewer.setExpandedState(newElement, true);
+			SymbolTreeDiff.match(adapter.getChildren(oldElement), adapter.getChildren(newElement))
+					.forEach((newChild, oldChild) -> restoreExpansion(oldChild, newChild, expanded));
+		}
 		/**
 		 * Add child nodes, removing the error element if appropriate. Contrary
 		 * to the super implementation, this does <em>not</em> use a UI job but
@@ -159,14 +588,9 @@ public class CSymbolsContentProvider extends CNavigatorContentProvider {
 						if (children.length != 1 || children[0] != ERROR_ELEMENT) {
 							viewer.remove(ERROR_ELEMENT);
 						}
-						var limitedChildren = children;
-						if (children.length > MAX_INITIAL_CHILDREN) {
-							// limit children to prevent long UI freezes...
-							// more children can be shown in navigator Treeview via 'Show next x items from remaining y'
-							// at the end of the list
-							limitedChildren = Arrays.copyOfRange(children, 0, MAX_INITIAL_CHILDREN);
-						}
-						viewer.add(parent, limitedChildren);
+						// materialize the first page only to prevent long UI freezes,
+						// more children can be shown via the 'Show next x symbols' element at the end of the list
+						viewer.add(parent, paged(parent, children));
 					} finally {
 						control.setRedraw(true);
 					}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.navigator;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Invalidates the symbols of a document once it hasn't been changed for a quiet period. Each document has its own
+ * system job, which gets rescheduled with every change.
+ */
+public final class DebouncedInvalidation {
+	private final long quietPeriod;
+	private final ObjLongConsumer<URI> invalidate;
+	private final Map<URI, InvalidationJob> jobs = new ConcurrentHashMap<>();
+
+	private final class InvalidationJob extends Job {
+		private final URI uri;
+		private volatile long version;
+
+		private InvalidationJob(URI uri) {
+			super(LspUiMessages.NavigatorView_InvalidateSymbols);
+			this.uri = uri;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			jobs.remove(uri, this);
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			invalidate.accept(uri, version);
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == DebouncedInvalidation.this;
+		}
+	}
+
+	/**
+	 * @param quietPeriod time in milliseconds without changes after which a document gets invalidated
+	 * @param invalidate called with the URI and the version of the document to invalidate
+	 */
+	public DebouncedInvalidation(long quietPeriod, ObjLongConsumer<URI> invalidate) {
+		this.quietPeriod = quietPeriod;
+		this.invalidate = invalidate;
+	}
+
+	/**
+	 * Schedules the invalidation of the given document after the quiet period. A pending invalidation of the document
+	 * gets postponed.
+	 *
+	 * @param uri the document
+	 * @param version the version of the document after the change
+	 */
+	public void schedule(URI uri, long version) {
+		var job = jobs.computeIfAbsent(uri, InvalidationJob::new);
+		job.version = version;
+		// scheduling a sleeping job has no effect, cancel it to restart the quiet period:
+		job.cancel();
+		job.schedule(quietPeriod);
+	}
+
+	/**
+	 * Cancels all pending invalidations.
+	 */
+	public void dispose() {
+		Job.getJobManager().cancel(this);
+		jobs.clear();
+	}
+
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.navigator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServerWrapper;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Requests the document symbols of a file, which is not opened in Eclipse, from a running language server.
+ * Contrary to {@link LSPEclipseUtils#getDocument(org.eclipse.core.resources.IResource)} the language server does not
+ * get started and no language server is looked up for the document.
+ */
+public final class DetachedDocumentSymbols {
+
+	private DetachedDocumentSymbols() {
+	}
+
+	/**
+	 * Finds the running C/C++ language server for the project of the given file.
+	 * Doesn't start a language server.
+	 *
+	 * @param file the file
+	 * @return the active language server, empty if not running
+	 */
+	static Optional<LanguageServerWrapper> findServer(IFile file) {
+		return LspUtils.getLanguageServers().stream().filter(w -> w.canOperate(file.getProject())).findFirst();
+	}
+
+	/**
+	 * Connects a file buffer for the duration of the request and lets LSP4E open its document in the language server.
+	 * LSP4E closes the document in the language server when the file buffer gets disposed, so a file opened in an
+	 * editor in the meantime stays open, as the editor holds a connection of the same file buffer.
+	 *
+	 * @param wrapper the running language server
+	 * @param file the file
+	 * @param uri the location URI of the file
+	 * @param inFlight gets the documentSymbol request, cancelling it cancels the request in the language server
+	 * @return the symbols, {@code null} if the document could not be connected
+	 */
+	static CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> request(LanguageServerWrapper wrapper,
+			IFile file, URI uri, Consumer<CompletableFuture<?>> inFlight) {
+		var manager = FileBuffers.getTextFileBufferManager();
+		try {
+			manager.connect(file.getFullPath(), LocationKind.IFILE, null);
+		} catch (CoreException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		final CompletableFuture<LanguageServerWrapper> connected;
+		try {
+			var buffer = manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+			connected = buffer != null ? wrapper.connectDocument(buffer.getDocument()) : null;
+		} catch (IOException e) {
+			disconnect(file);
+			return CompletableFuture.failedFuture(e);
+		}
+		if (connected == null) {
+			disconnect(file);
+			return CompletableFuture.completedFuture(null);
+		}
+		final var params = new DocumentSymbolParams(LSPEclipseUtils.toTextDocumentIdentifier(uri));
+		return connected.thenCompose(w -> wrapper.execute(ls -> {
+			var symbols = ls.getTextDocumentService().documentSymbol(params);
+			inFlight.accept(symbols);
+			return symbols;
+		})).whenComplete((r, e) -> disconnect(file));
+	}
+
+	private static void disconnect(IFile file) {
+		try {
+			FileBuffers.getTextFileBufferManager().disconnect(file.getFullPath(), LocationKind.IFILE, null);
+		} catch (CoreException e) {
+			Platform.getLog(DetachedDocumentSymbols.class).error(e.getMessage(), e);
+		}
+	}
+
+}
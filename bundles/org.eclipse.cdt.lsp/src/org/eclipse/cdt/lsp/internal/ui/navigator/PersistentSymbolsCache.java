@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.navigator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+
+/**
+ * Persists the document symbols of files in a compact binary format, one file per source file.
+ * An entry is only valid as long as the modification time and the length of the source file are unchanged.
+ * Entries of deleted or modified source files get evicted when read and by {@link #prune()}.
+ */
+public final class PersistentSymbolsCache {
+	private static final int MAGIC = 0x43535943; // "CSYC"
+	private static final int VERSION = 1;
+	private static final String SUFFIX = ".symbols"; //$NON-NLS-1$
+
+	/**
+	 * Identifies the content of a source file on disk.
+	 *
+	 * @param lastModified the modification time
+	 * @param length the file length
+	 */
+	public record FileStamp(long lastModified, long length) {
+
+		/**
+		 * @param uri the file URI
+		 * @return the stamp of the file, empty if it doesn't exist
+		 */
+		public static Optional<FileStamp> of(URI uri) {
+			try {
+				var info = EFS.getStore(uri).fetchInfo();
+				if (info.exists()) {
+					return Optional.of(new FileStamp(info.getLastModified(), info.getLength()));
+				}
+			} catch (CoreException e) {
+				// file system not supported, don't persist
+			}
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * The header of an entry.
+	 *
+	 * @param uri the source file URI
+	 * @param stamp the stamp of the source file content the symbols have been computed for
+	 */
+	private record Header(URI uri, FileStamp stamp) {
+	}
+
+	private final Path directory;
+	/**
+	 * Guards replacing and evicting entries, so an entry replaced concurrently doesn't get evicted.
+	 */
+	private final Object lock = new Object();
+
+	/**
+	 * @param directory the directory where the symbols get stored, created on demand
+	 */
+	public PersistentSymbolsCache(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Reads the persisted symbols of the given file. An outdated entry gets evicted.
+	 *
+	 * @param uri the file URI
+	 * @return the symbols, empty if not persisted or outdated
+	 */
+	public Optional<List<DocumentSymbol>> read(URI uri) {
+		var symbols = FileStamp.of(uri).flatMap(stamp -> read(uri, stamp));
+		if (symbols.isEmpty()) {
+			evictIfOutdated(fileFor(uri));
+		}
+		return symbols;
+	}
+
+	/**
+	 * Reads the persisted symbols of the given file if they have been stored for the given stamp.
+	 *
+	 * @param uri the file URI
+	 * @param stamp the current stamp of the file
+	 * @return the symbols, empty if not persisted or outdated
+	 */
+	public Optional<List<DocumentSymbol>> read(URI uri, FileStamp stamp) {
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(fileFor(uri))))) {
+			var header = readHeader(in);
+			if (header.isEmpty() || !header.get().equals(new Header(uri, stamp))) {
+				return Optional.empty();
+			}
+			return Optional.of(readSymbols(in));
+		} catch (NoSuchFileException | EOFException e) {
+			// not persisted yet or truncated entry:
+			return Optional.empty();
+		} catch (IOException e) {
+			Platform.getLog(getClass()).error(e.getMessage(), e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Persists the symbols of the given file. The file gets replaced atomically, so concurrent readers either see the
+	 * previous or the new entry.
+	 *
+	 * @param uri the file URI
+	 * @param stamp the stamp of the file content the symbols have been computed for
+	 * @param symbols the symbols
+	 */
+	public void write(URI uri, FileStamp stamp, List<DocumentSymbol> symbols) {
+		try {
+			Files.createDirectories(directory);
+			var target = fileFor(uri);
+			var temp = Files.createTempFile(directory, null, null);
+			try {
+				try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+					out.writeInt(MAGIC);
+					out.writeInt(VERSION);
+					out.writeUTF(uri.toString());
+					out.writeLong(stamp.lastModified());
+					out.writeLong(stamp.length());
+					writeSymbols(out, symbols);
+				}
+				synchronized (lock) {
+					Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			Platform.getLog(getClass()).error(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Evicts the entries of deleted or modified source files and entries written by other versions.
+	 * Accesses the file systems of all persisted source files, hence to be called in the background.
+	 */
+	public void prune() {
+		try (var entries = Files.newDirectoryStream(directory, "*" + SUFFIX)) { //$NON-NLS-1$
+			entries.forEach(this::evictIfOutdated);
+		} catch (NoSuchFileException e) {
+			// nothing persisted yet
+		} catch (IOException e) {
+			Platform.getLog(getClass()).error(e.getMessage(), e);
+		}
+	}
+
+	private void evictIfOutdated(Path entry) {
+		synchronized (lock) {
+			try {
+				Optional<Header> header;
+				try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+					header = readHeader(in);
+				} catch (EOFException e) {
+					header = Optional.empty();
+				}
+				// the entry may belong to another source file with the same hash, which is evicted only if outdated:
+				if (header.isEmpty() || !FileStamp.of(header.get().uri()).equals(Optional.of(header.get().stamp()))) {
+					Files.deleteIfExists(entry);
+				}
+			} catch (NoSuchFileException e) {
+				// not persisted
+			} catch (IOException e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * @return the header, empty if the entry has been written by another version or is corrupt
+	 */
+	private static Optional<Header> readHeader(DataInputStream in) throws IOException {
+		if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+			return Optional.empty();
+		}
+		final URI uri;
+		try {
+			uri = new URI(in.readUTF());
+		} catch (URISyntaxException e) {
+			return Optional.empty();
+		}
+		return Optional.of(new Header(uri, new FileStamp(in.readLong(), in.readLong())));
+	}
+
+	private Path fileFor(URI uri) {
+		// the URI itself is stored in the entry, hence hash collisions are detected on read:
+		return directory.resolve(Integer.toHexString(uri.toString().hashCode()) + SUFFIX);
+	}
+
+	private static void writeSymbols(DataOutputStream out, List<DocumentSymbol> symbols) throws IOException {
+		out.writeInt(symbols != null ? symbols.size() : 0);
+		if (symbols == null) {
+			return;
+		}
+		for (var symbol : symbols) {
+			out.writeUTF(symbol.getName());
+			out.writeUTF(Optional.ofNullable(symbol.getDetail()).orElse("")); //$NON-NLS-1$
+			out.writeByte(symbol.getKind() != null ? symbol.getKind().getValue() : 0);
+			writeRange(out, symbol.getRange());
+			writeRange(out, symbol.getSelectionRange());
+			writeSymbols(out, symbol.getChildren());
+		}
+	}
+
+	private static void writeRange(DataOutputStream out, Range range) throws IOException {
+		out.writeInt(range.getStart().getLine());
+		out.writeInt(range.getStart().getCharacter());
+		out.writeInt(range.getEnd().getLine());
+		out.writeInt(range.getEnd().getCharacter());
+	}
+
+	private static List<DocumentSymbol> readSymbols(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		var symbols = new ArrayList<DocumentSymbol>(count);
+		for (int i = 0; i < count; i++) {
+			var symbol = new DocumentSymbol();
+			symbol.setName(in.readUTF());
+			var detail = in.readUTF();
+			symbol.setDetail(detail.isEmpty() ? null : detail);
+			int kind = in.readByte();
+			symbol.setKind(kind != 0 ? SymbolKind.forValue(kind) : null);
+			symbol.setRange(readRange(in));
+			symbol.setSelectionRange(readRange(in));
+			symbol.setChildren(readSymbols(in));
+			symbols.add(symbol);
+		}
+		return symbols;
+	}
+
+	private static Range readRange(DataInputStream in) throws IOException {
+		return new Range(new Position(in.readInt(), in.readInt()), new Position(in.readInt(), in.readInt()));
+	}
+
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.navigator;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A document symbols request of a compile unit, shared by all tree nodes waiting for it. Each waiter gets its own
+ * dependent future, cancelling it doesn't affect the other waiters. The request itself gets cancelled when its last
+ * waiter gets cancelled, e.g. when all nodes of the compile unit have been collapsed.
+ */
+public final class SharedSymbolsRequest {
+	private final CompletableFuture<Void> result = new CompletableFuture<>();
+	private volatile CompletableFuture<?> languageServerRequest;
+	private int waiters;
+
+	public SharedSymbolsRequest() {
+		result.whenComplete((r, e) -> {
+			if (result.isCancelled()) {
+				Optional.ofNullable(languageServerRequest).ifPresent(request -> request.cancel(true));
+			}
+		});
+	}
+
+	/**
+	 * @return the future which completes when the symbols model has been updated, or gets cancelled with the last
+	 *         waiter
+	 */
+	public CompletableFuture<Void> result() {
+		return result;
+	}
+
+	/**
+	 * Adds a waiter.
+	 *
+	 * @return the future of the new waiter, empty if the request has already been cancelled
+	 */
+	public synchronized Optional<CompletableFuture<Void>> join() {
+		if (result.isCancelled()) {
+			return Optional.empty();
+		}
+		waiters++;
+		var waiter = result.thenApply(r -> r);
+		waiter.whenComplete((r, e) -> {
+			if (waiter.isCancelled()) {
+				leave();
+			}
+		});
+		return Optional.of(waiter);
+	}
+
+	private synchronized void leave() {
+		if (--waiters == 0) {
+			result.cancel(true);
+		}
+	}
+
+	/**
+	 * Sets the request sent to the language server, which gets cancelled with this request. LSP4J forwards this as
+	 * $/cancelRequest.
+	 */
+	public void setLanguageServerRequest(CompletableFuture<?> request) {
+		languageServerRequest = request;
+		if (request != null && result.isCancelled()) {
+			request.cancel(true);
+		}
+	}
+
+	public boolean isCancelled() {
+		return result.isCancelled();
+	}
+
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.navigator;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.model.WorkbenchAdapter;
+
+/**
+ * Pages the symbols of a tree node, so only the pages requested by the user get materialized as tree items.
+ * The remaining symbols are represented by a {@link NextPage} element at the end of the shown children.
+ * Not thread safe, to be accessed from the UI thread only.
+ */
+public final class SymbolPages {
+
+	/**
+	 * Placeholder element for the symbols which are not shown yet. Opening it shows the next page.
+	 */
+	public static final class NextPage extends WorkbenchAdapter {
+		private final SymbolPages pages;
+
+		private NextPage(SymbolPages pages) {
+			this.pages = pages;
+		}
+
+		public SymbolPages pages() {
+			return pages;
+		}
+
+		@Override
+		public String getLabel(Object object) {
+			var remaining = pages.children.length - pages.shown;
+			return NLS.bind(LspUiMessages.NavigatorView_ShowNextSymbols, Math.min(pages.pageSize, remaining), remaining);
+		}
+
+		@Override
+		public String toString() {
+			return getLabel(this);
+		}
+	}
+
+	private final Object parent;
+	private Object[] children;
+	private final int pageSize;
+	private int shown;
+	private NextPage nextPage;
+	private Object[] prefetched;
+	private final Map<Object, Object[]> prefetchedChildren = new IdentityHashMap<>();
+
+	/**
+	 * @param parent the tree node
+	 * @param children all children of the tree node
+	 * @param pageSize the number of children per page
+	 */
+	public SymbolPages(Object parent, Object[] children, int pageSize) {
+		this.parent = parent;
+		this.children = children;
+		this.pageSize = Math.max(1, pageSize);
+	}
+
+	public Object parent() {
+		return parent;
+	}
+
+	public Object[] children() {
+		return children;
+	}
+
+	/**
+	 * @return the children shown so far followed by the {@link NextPage} element, if there are remaining children
+	 */
+	public Object[] visible() {
+		if (shown == 0) {
+			nextPage();
+		}
+		var visible = Arrays.copyOf(children, shown + (nextPage != null ? 1 : 0));
+		if (nextPage != null) {
+			visible[shown] = nextPage;
+		}
+		return visible;
+	}
+
+	/**
+	 * @return the children shown so far
+	 */
+	public Object[] shown() {
+		return Arrays.copyOf(children, shown);
+	}
+
+	/**
+	 * Replaces the children by the refreshed ones. At least as many children as before stay materialized, the
+	 * {@link NextPage} element is kept as long as there are remaining children, so it stays in place in the viewer.
+	 *
+	 * @param children all refreshed children of the tree node
+	 * @return the refreshed children to be shown, without the {@link NextPage} element
+	 */
+	public Object[] refresh(Object[] children) {
+		this.children = children;
+		prefetched = null;
+		prefetchedChildren.clear();
+		shown = Math.min(Math.max(shown, pageSize), children.length);
+		if (shown == children.length) {
+			nextPage = null;
+		} else if (nextPage == null) {
+			nextPage = new NextPage(this);
+		}
+		return shown();
+	}
+
+	/**
+	 * Materializes the next page.
+	 *
+	 * @return the children of the next page, empty if all children are shown
+	 */
+	public Object[] nextPage() {
+		int end = Math.min(children.length, shown + pageSize);
+		var page = prefetched != null ? prefetched : Arrays.copyOfRange(children, shown, end);
+		prefetched = null;
+		shown = end;
+		nextPage = shown < children.length ? new NextPage(this) : null;
+		return page;
+	}
+
+	/**
+	 * Prepares the next page and the children of its elements, which the viewer asks for when it creates their
+	 * tree items.
+	 *
+	 * @param childrenOf computes the children of an element
+	 */
+	public void prefetch(Function<Object, Object[]> childrenOf) {
+		if (nextPage == null || prefetched != null) {
+			return;
+		}
+		prefetched = Arrays.copyOfRange(children, shown, Math.min(children.length, shown + pageSize));
+		for (var element : prefetched) {
+			prefetchedChildren.put(element, childrenOf.apply(element));
+		}
+	}
+
+	/**
+	 * Hands out the prepared children of an element of a prefetched page once.
+	 *
+	 * @param element the element
+	 * @return the children, {@code null} if not prepared
+	 */
+	public Object[] prefetchedChildren(Object element) {
+		return prefetchedChildren.remove(element);
+	}
+
+	/**
+	 * @return the element representing the remaining children, {@code null} if all children are shown
+	 */
+	public NextPage nextPageElement() {
+		return nextPage;
+	}
+
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.navigator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4e.outline.SymbolsModel.DocumentSymbolWithURI;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+
+/**
+ * Computes the changes between the previous and the refreshed symbols of a tree node.
+ * Symbols are matched by name and kind, in order of their occurrence, so overloads are matched pairwise.
+ * Matched symbols which are equal are left untouched in the viewer, which keeps their tree items and expansion state.
+ */
+public final class SymbolTreeDiff {
+
+	public sealed interface Change permits Insert, Remove, Replace {
+	}
+
+	/**
+	 * @param element the new element
+	 * @param index the position in the refreshed children
+	 */
+	public record Insert(Object element, int index) implements Change {
+	}
+
+	/**
+	 * @param element the element which is no longer present
+	 */
+	public record Remove(Object element) implements Change {
+	}
+
+	/**
+	 * @param oldElement the previous element
+	 * @param newElement the element with the same name and kind, but a different range, detail or children
+	 * @param index the position in the refreshed children
+	 */
+	public record Replace(Object oldElement, Object newElement, int index) implements Change {
+	}
+
+	private record Key(String name, SymbolKind kind) {
+	}
+
+	private SymbolTreeDiff() {
+	}
+
+	/**
+	 * Computes the changes to be applied to the viewer. All removals come first, followed by the insertions and
+	 * replacements in ascending order of their index.
+	 *
+	 * @param oldElements the children currently shown
+	 * @param newElements the refreshed children
+	 * @return the changes, empty if the children are equal
+	 */
+	public static List<Change> compute(Object[] oldElements, Object[] newElements) {
+		var unmatched = unmatched(oldElements);
+		var changes = new ArrayList<Change>();
+		for (int i = 0; i < newElements.length; i++) {
+			var element = newElements[i];
+			var old = poll(unmatched, element);
+			if (old == null) {
+				changes.add(new Insert(element, i));
+			} else if (!old.equals(element)) {
+				changes.add(new Replace(old, element, i));
+			}
+		}
+		var removals = new ArrayList<Change>();
+		unmatched.values().forEach(remaining -> remaining.forEach(old -> removals.add(new Remove(old))));
+		removals.addAll(changes);
+		return removals;
+	}
+
+	/**
+	 * Matches the refreshed children to the previous ones.
+	 *
+	 * @param oldElements the previous children
+	 * @param newElements the refreshed children
+	 * @return the matching previous element per refreshed element
+	 */
+	public static Map<Object, Object> match(Object[] oldElements, Object[] newElements) {
+		var unmatched = unmatched(oldElements);
+		var matches = new LinkedHashMap<Object, Object>();
+		for (var element : newElements) {
+			var old = poll(unmatched, element);
+			if (old != null) {
+				matches.put(element, old);
+			}
+		}
+		return matches;
+	}
+
+	private static Map<Object, Deque<Object>> unmatched(Object[] oldElements) {
+		var unmatched = new LinkedHashMap<Object, Deque<Object>>();
+		for (var old : oldElements) {
+			unmatched.computeIfAbsent(key(old), k -> new ArrayDeque<>()).add(old);
+		}
+		return unmatched;
+	}
+
+	private static Object poll(Map<Object, Deque<Object>> unmatched, Object element) {
+		var candidates = unmatched.get(key(element));
+		return candidates != null ? candidates.poll() : null;
+	}
+
+	private static Object key(Object element) {
+		if (element instanceof DocumentSymbolWithURI documentSymbol) {
+			return new Key(documentSymbol.symbol.getName(), documentSymbol.symbol.getKind());
+		} else if (element instanceof SymbolInformation symbolInformation) {
+			return new Key(symbolInformation.getName(), symbolInformation.getKind());
+		}
+		return element;
+	}
+
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.navigator;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Size and weight bounded LRU cache for the symbols of compile units shown in the Project Explorer.
+ * The weight of an entry is the estimated number of its symbols. The least recently used entries are evicted
+ * when either the number of entries or the total weight exceeds its limit.
+ * Values are softly referenced, so the garbage collector can reclaim them under memory pressure.
+ * All methods are thread safe.
+ *
+ * @param <V> the cached value
+ */
+public final class SymbolsCache<V> {
+
+	/**
+	 * Cache statistics.
+	 *
+	 * @param hits number of lookups which have found a cached value
+	 * @param misses number of lookups which had to create a new value
+	 * @param evictions number of values removed due to the limits or reclaimed by the garbage collector
+	 * @param size current number of entries
+	 * @param weight current total weight
+	 */
+	public record Statistics(long hits, long misses, long evictions, int size, long weight) {
+	}
+
+	private static final class Entry<V> extends SoftReference<V> {
+		private final URI uri;
+		private long weight = 1;
+
+		private Entry(URI uri, V value, ReferenceQueue<V> queue) {
+			super(value, queue);
+			this.uri = uri;
+		}
+	}
+
+	private final int maxSize;
+	private final long maxWeight;
+	private final Consumer<URI> evicted;
+	private final LinkedHashMap<URI, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+	private long weight;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * @param maxSize maximum number of entries
+	 * @param maxWeight maximum total weight of all entries
+	 */
+	public SymbolsCache(int maxSize, long maxWeight) {
+		this(maxSize, maxWeight, uri -> {
+		});
+	}
+
+	/**
+	 * @param maxSize maximum number of entries
+	 * @param maxWeight maximum total weight of all entries
+	 * @param evicted called with the key of an evicted or reclaimed entry, while holding the lock of this cache
+	 */
+	public SymbolsCache(int maxSize, long maxWeight, Consumer<URI> evicted) {
+		this.maxSize = maxSize;
+		this.maxWeight = maxWeight;
+		this.evicted = evicted;
+	}
+
+	/**
+	 * Returns the cached value for the given URI or creates a new one.
+	 *
+	 * @param uri the key
+	 * @param factory creates the value if it is not cached
+	 * @return the value
+	 */
+	public synchronized V get(URI uri, Function<URI, V> factory) {
+		expungeReclaimed();
+		var entry = entries.get(uri);
+		var value = entry != null ? entry.get() : null;
+		if (value != null) {
+			hits++;
+			return value;
+		}
+		misses++;
+		if (entry != null) {
+			weight -= entry.weight;
+		}
+		value = factory.apply(uri);
+		entries.put(uri, new Entry<>(uri, value, queue));
+		weight++;
+		evict(uri);
+		return value;
+	}
+
+	/**
+	 * Returns the cached value for the given URI without creating it. Doesn't count as hit or miss.
+	 *
+	 * @param uri the key
+	 * @return the value, if cached
+	 */
+	public synchronized Optional<V> peek(URI uri) {
+		expungeReclaimed();
+		return Optional.ofNullable(entries.get(uri)).map(Entry::get);
+	}
+
+	/**
+	 * Updates the weight of the cached value, e.g. after its symbols have been loaded, and evicts the least recently
+	 * used entries if the total weight exceeds the limit. The given entry itself is never evicted by this call.
+	 *
+	 * @param uri the key
+	 * @param value the value, nothing happens if it is no longer cached
+	 * @param newWeight the estimated weight, at least 1
+	 */
+	public synchronized void updateWeight(URI uri, V value, long newWeight) {
+		var entry = entries.get(uri);
+		if (entry != null && entry.get() == value) {
+			var effectiveWeight = Math.max(1, newWeight);
+			weight += effectiveWeight - entry.weight;
+			entry.weight = effectiveWeight;
+			evict(uri);
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0;
+		while (queue.poll() != null) {
+			// drain
+		}
+	}
+
+	public synchronized Statistics statistics() {
+		expungeReclaimed();
+		return new Statistics(hits, misses, evictions, entries.size(), weight);
+	}
+
+	private void evict(URI keep) {
+		var iterator = entries.values().iterator();
+		while ((entries.size() > maxSize || weight > maxWeight) && iterator.hasNext()) {
+			var entry = iterator.next();
+			if (!entry.uri.equals(keep)) {
+				iterator.remove();
+				weight -= entry.weight;
+				evictions++;
+				evicted.accept(entry.uri);
+			}
+		}
+	}
+
+	private void expungeReclaimed() {
+		Reference<? extends V> reference;
+		while ((reference = queue.poll()) != null) {
+			if (reference instanceof Entry<? extends V> entry && entries.remove(entry.uri, entry)) {
+				weight -= entry.weight;
+				evictions++;
+				evicted.accept(entry.uri);
+			}
+		}
+	}
+
+}
@@ -13,33 +13,47 @@
 package org.eclipse.cdt.lsp.internal.ui.navigator;
 
 import java.net.URI;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.lsp.internal.ui.navigator.PersistentSymbolsCache.FileStamp;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
 import org.eclipse.cdt.lsp.util.LspUtils;
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.IFileBuffer;
 import org.eclipse.core.filebuffers.IFileBufferListener;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.ITextFileBufferManager;
 import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
@@ -55,13 +69,56 @@ import org.eclipse.ui.progress.IElementCollector;
 
 public class SymbolsManager implements IDeferredWorkbenchAdapter {
 	protected static final Object[] EMPTY = new Object[0];
-	private final ReentrantLock lock = new ReentrantLock();
+	/**
+	 * Maximum number of document symbol requests which are sent concurrently to the language server.
+	 */
+	private static final int MAX_CONCURRENT_REQUESTS = 4;
+	private static final long LANGUAGE_SERVER_TIMEOUT_MS = 1000;
+	private static final long POLL_INTERVAL_MS = 100;
+	private final Semaphore permits = new Semaphore(MAX_CONCURRENT_REQUESTS);
+	/**
+	 * Time without document changes after which the symbols of a file get invalidated.
+	 */
+	private static final long QUIET_PERIOD_MS = 500;
+	private final DebouncedInvalidation invalidation = new DebouncedInvalidation(QUIET_PERIOD_MS, this::invalidate);
+	private final Map<IDocument, URI> trackedDocuments = new ConcurrentHashMap<>();
+	private final ListenerList<Consumer<URI>> outdatedListeners = new ListenerList<>();
+	private final ListenerList<Consumer<URI>> evictedListeners = new ListenerList<>();
+	private final IDocumentListener documentListener = new IDocumentListener() {
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			var uri = trackedDocuments.get(event.getDocument());
+			if (uri != null) {
+				invalidation.schedule(uri, version(event.getDocument()));
+			}
+		}
+	};
+
+	/**
+	 * @param symbols the symbols received from the language server
+	 * @param stamp the stamp of the file the symbols have been computed for, empty if computed from a modified buffer
+	 * @param version the version of the document the symbols have been computed for
+	 */
+	private record SymbolsResponse(List<Either<SymbolInformation, DocumentSymbol>> symbols, Optional<FileStamp> stamp,
+			long version) {
+	}
 
 	class CompileUnit {
 		public final IFile file;
 		public final URI uri;
 		public final SymbolsModel symbolsModel;
 		public volatile boolean isDirty = true;
+		/**
+		 * version of the document the symbols have been loaded from, unknown if not loaded from an opened document.
+		 */
+		private volatile long version = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		private final AtomicReference<SharedSymbolsRequest> pending = new AtomicReference<>();
 
 		public CompileUnit(URI uri, IFile file) {
 			this.file = file;
@@ -77,30 +134,67 @@ public class SymbolsManager implements IDeferredWorkbenchAdapter {
 		public Object[] getChildren(Object parentElement) {
 			return symbolsModel.getChildren(parentElement);
 		}
+
+		/**
+		 * @return the number of symbols of this unit, used as weight in the symbols cache
+		 */
+		long countSymbols() {
+			return countSymbols(getElements());
+		}
+
+		private long countSymbols(Object[] elements) {
+			long count = elements.length;
+			for (var element : elements) {
+				count += countSymbols(getChildren(element));
+			}
+			return count;
+		}
 	}
 
+	/**
+	 * Tracks the documents of C/C++ file buffers. Every document change schedules an invalidation of the compile unit
+	 * after a quiet period. Saving a file doesn't change the document, hence doesn't invalidate the symbols.
+	 */
 	private final IFileBufferListener fileBufferListener = new FileBufferListenerAdapter() {
 
 		@Override
-		public void dirtyStateChanged(IFileBuffer buffer, boolean isDirty) {
+		public void bufferCreated(IFileBuffer buffer) {
+			track(buffer);
+		}
+
+		@Override
+		public void bufferDisposed(IFileBuffer buffer) {
+			if (buffer instanceof ITextFileBuffer textFileBuffer) {
+				var document = textFileBuffer.getDocument();
+				var uri = trackedDocuments.remove(document);
+				if (uri != null) {
+					document.removeDocumentListener(documentListener);
+				}
+			}
+		}
+
+		@Override
+		public void underlyingFileMoved(IFileBuffer buffer, IPath path) {
+			bufferDisposed(buffer);
+			track(buffer);
+		}
+
+		private void track(IFileBuffer buffer) {
 			try {
 				// Note: resourceExists must be called prior to buffer.getContentType(),
 				// because getContentType() throws an exception when the underlying resource does not exists.
 				// This can be the case if 'Save as..' has been performed on a file.
-				// Then isDirty is true and dirtyStateChanged gets called for the new, not yet existing file.
-				if (isDirty && resourceExists(buffer) && isCElement(buffer.getContentType())) {
+				if (buffer instanceof ITextFileBuffer textFileBuffer && resourceExists(buffer)
+						&& isCElement(buffer.getContentType())) {
 					var uri = LSPEclipseUtils.toUri(buffer);
-					if (uri != null) {
-						var cachedCompileUnit = getCompileUnit(uri);
-						if (cachedCompileUnit != null) {
-							cachedCompileUnit.isDirty = true;
-						}
+					var document = textFileBuffer.getDocument();
+					if (uri != null && document != null && trackedDocuments.putIfAbsent(document, uri) == null) {
+						document.addDocumentListener(documentListener);
 					}
 				}
 			} catch (CoreException e) {
 				Platform.getLog(getClass()).error(e.getMessage(), e);
 			}
-
 		}
 
 		private boolean resourceExists(IFileBuffer buffer) {
@@ -116,21 +210,104 @@ public class SymbolsManager implements IDeferredWorkbenchAdapter {
 		}
 	};
 
-	private volatile HashMap<URI, CompileUnit> cachedSymbols = new HashMap<>();
-	public static final SymbolsManager INSTANCE = new SymbolsManager();
+	/**
+	 * Maximum number of compile units whose symbols are cached.
+	 */
+	private static final int MAX_CACHED_UNITS = 1000;
+	/**
+	 * Maximum number of symbols of all cached compile units.
+	 */
+	private static final long MAX_CACHED_SYMBOLS = 500_000;
+	private final SymbolsCache<CompileUnit> cachedSymbols = new SymbolsCache<>(MAX_CACHED_UNITS, MAX_CACHED_SYMBOLS,
+			uri -> evictedListeners.forEach(listener -> listener.accept(uri)));
+	private final Optional<PersistentSymbolsCache> persistedSymbols = Optional.ofNullable(LspPlugin.getDefault())
+			.map(plugin -> plugin.getStateLocation().append("symbols").toFile().toPath()) //$NON-NLS-1$
+			.map(PersistentSymbolsCache::new);
+	private static SymbolsManager instance = null;
 
 	public SymbolsManager() {
-		FileBuffers.getTextFileBufferManager().addFileBufferListener(fileBufferListener);
+		var bufferManager = FileBuffers.getTextFileBufferManager();
+		bufferManager.addFileBufferListener(fileBufferListener);
+		Arrays.stream(bufferManager.getFileBuffers()).forEach(fileBufferListener::bufferCreated);
+		// evict the symbols of files deleted or modified since the previous session:
+		persistedSymbols.ifPresent(cache -> CompletableFuture.runAsync(cache::prune));
+	}
+
+	/**
+	 * Returns the symbols manager shared by all Project Explorer views. It stays alive when a view gets closed and is
+	 * disposed by {@link #stop()} when the plug-in gets stopped.
+	 *
+	 * @return the shared symbols manager
+	 */
+	public static synchronized SymbolsManager getInstance() {
+		if (instance == null) {
+			instance = new SymbolsManager();
+		}
+		return instance;
+	}
+
+	public static synchronized void stop() {
+		if (instance != null) {
+			instance.dispose();
+			instance = null;
+		}
 	}
 
 	public void dispose() {
 		cachedSymbols.clear();
+		invalidation.dispose();
+		trackedDocuments.keySet().forEach(document -> document.removeDocumentListener(documentListener));
+		trackedDocuments.clear();
 		FileBuffers.getTextFileBufferManager().removeFileBufferListener(fileBufferListener);
 	}
 
+	/**
+	 * Adds a listener which gets notified with the URI of a compile unit whose symbols are outdated after its document
+	 * has been changed. Called at most once per quiet period and file, from a background thread.
+	 *
+	 * @param listener the listener
+	 */
+	public void addOutdatedListener(Consumer<URI> listener) {
+		outdatedListeners.add(listener);
+	}
+
+	public void removeOutdatedListener(Consumer<URI> listener) {
+		outdatedListeners.remove(listener);
+	}
+
+	/**
+	 * Adds a listener which gets notified with the URI of a compile unit whose symbols have been evicted from the
+	 * cache. Called from the thread accessing the cache, while holding its lock.
+	 *
+	 * @param listener the listener
+	 */
+	public void addEvictedListener(Consumer<URI> listener) {
+		evictedListeners.add(listener);
+	}
+
+	public void removeEvictedListener(Consumer<URI> listener) {
+		evictedListeners.remove(listener);
+	}
+
+	private void invalidate(URI uri, long version) {
+		getCompileUnit(uri).filter(unit -> unit.version != version).ifPresent(unit -> {
+			unit.isDirty = true;
+			outdatedListeners.forEach(listener -> listener.accept(uri));
+		});
+	}
+
+	/**
+	 * The modification stamp of the document serves as document version. It changes with every document change,
+	 * like the version LSP4E sends with each didChange notification.
+	 */
+	private static long version(IDocument document) {
+		return document instanceof IDocumentExtension4 extension ? extension.getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	@Override
 	public void fetchDeferredChildren(Object object, IElementCollector collector, IProgressMonitor monitor) {
-		var children = getCompileUnitElements(object);
+		var children = getCompileUnitElements(object, monitor);
 		if (monitor.isCanceled() || children.length == 0) {
 			return;
 		}
@@ -154,28 +331,24 @@ public class SymbolsManager implements IDeferredWorkbenchAdapter {
 	}
 
 	public Object[] getTranslationUnitElements(ITranslationUnit translationUnit) {
-		CompileUnit compileUnit = getCompileUnit(translationUnit.getLocationURI());
-		if (compileUnit != null) {
-			return compileUnit.getElements();
-		}
-		return null;
+		return getCompileUnit(translationUnit.getLocationURI()).map(CompileUnit::getElements).orElse(null);
 	}
 
 	public boolean isDirty(ITranslationUnit translationUnit) {
-		CompileUnit compileUnit = getCompileUnit(translationUnit.getLocationURI());
-		if (compileUnit != null) {
-			return compileUnit.isDirty;
-		}
-		return true;
+		return getCompileUnit(translationUnit.getLocationURI()).map(unit -> unit.isDirty).orElse(true);
+	}
+
+	/**
+	 * @return the hit, miss and eviction statistics of the symbols cache
+	 */
+	public SymbolsCache.Statistics getCacheStatistics() {
+		return cachedSymbols.statistics();
 	}
 
 	@Override
 	public Object[] getChildren(Object parentElement) {
 		if (parentElement instanceof DocumentSymbolWithURI documentSymbolWithUri) {
-			CompileUnit unit = getCompileUnit(documentSymbolWithUri.uri);
-			if (unit != null) {
-				return unit.getChildren(parentElement);
-			}
+			return getCompileUnit(documentSymbolWithUri.uri).map(unit -> unit.getChildren(parentElement)).orElse(EMPTY);
 		}
 		return EMPTY;
 	}
@@ -198,31 +371,198 @@ public class SymbolsManager implements IDeferredWorkbenchAdapter {
 		return null;
 	}
 
-	private CompileUnit getCompileUnit(URI key) {
-		return getCompileUnit(key, null);
+	private Optional<CompileUnit> getCompileUnit(URI key) {
+		return cachedSymbols.peek(key);
 	}
 
-	private synchronized CompileUnit getCompileUnit(URI key, IFile file) {
-		return cachedSymbols.computeIfAbsent(key, uri -> new CompileUnit(key, file));
+	private CompileUnit getCompileUnit(URI key, IFile file) {
+		return cachedSymbols.get(key, uri -> new CompileUnit(key, file));
 	}
 
-	private Object[] getCompileUnitElements(Object object) {
+	private Object[] getCompileUnitElements(Object object, IProgressMonitor monitor) {
 		if (object instanceof ITranslationUnit unit) {
 			CompileUnit compileUnit = getCompileUnit(unit.getLocationURI(), unit.getFile());
 			if (compileUnit == null) {
 				return EMPTY;
 			}
-			refreshTreeContentFromLS(compileUnit);
-			return compileUnit.getElements();
+			if (loadPersisted(compileUnit)) {
+				return compileUnit.getElements();
+			}
+			if (await(refreshTreeContentFromLS(compileUnit, monitor), monitor)) {
+				return compileUnit.getElements();
+			}
 		}
 		return EMPTY;
 	}
 
-	private void refreshTreeContentFromLS(CompileUnit compileUnit) {
+	/**
+	 * Loads the symbols of the given compile unit which have been persisted in a previous session, as long as the file
+	 * has not been modified since then. The compile unit doesn't need to be refreshed from the language server
+	 * afterwards. Files opened in an editor are not served from the persisted symbols, since their buffer may differ
+	 * from the file on disk. Reads the file system, hence to be called in the background.
+	 *
+	 * @return {@code true} if the persisted symbols have been loaded
+	 */
+	private boolean loadPersisted(CompileUnit compileUnit) {
+		if (persistedSymbols.isEmpty() || !compileUnit.isDirty || compileUnit.pending.get() != null
+				|| (compileUnit.file != null && LSPEclipseUtils.getExistingDocument(compileUnit.file) != null)) {
+			return false;
+		}
+		var symbols = persistedSymbols.get().read(compileUnit.uri);
+		if (symbols.isEmpty()) {
+			return false;
+		}
+		compileUnit.symbolsModel.update(
+				symbols.get().stream().map(Either::<SymbolInformation, DocumentSymbol>forRight).toList());
+		compileUnit.isDirty = false;
+		cachedSymbols.updateWeight(compileUnit.uri, compileUnit, compileUnit.countSymbols());
+		return true;
+	}
+
+	/**
+	 * Waits for the symbols of a compile unit. The waiter gets cancelled when the monitor gets cancelled,
+	 * e.g. when the tree node has been collapsed, see {@link SharedSymbolsRequest}.
+	 *
+	 * @return {@code true} if the symbols have been loaded, {@code false} if the request has been cancelled
+	 */
+	private boolean await(CompletableFuture<Void> future, IProgressMonitor monitor) {
+		while (true) {
+			if (monitor.isCanceled()) {
+				future.cancel(true);
+				return false;
+			}
+			try {
+				future.get(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+				return true;
+			} catch (TimeoutException e) {
+				// poll the monitor again
+			} catch (CancellationException e) {
+				return false;
+			} catch (ExecutionException e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+				return false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				future.cancel(true);
+				return false;
+			}
+		}
+	}
+
+	private boolean acquirePermit(IProgressMonitor monitor) {
+		try {
+			while (!permits.tryAcquire(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+				if (monitor.isCanceled()) {
+					return false;
+				}
+			}
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Requests the document symbols of the given compile unit from the language server. Concurrent requests for
+	 * the same compile unit share one request, requests for different compile units run in parallel up to
+	 * {@link #MAX_CONCURRENT_REQUESTS}.
+	 *
+	 * @return future of the caller which completes when the symbols model has been updated, cancelling it cancels
+	 *         the request only if no one else waits for it
+	 */
+	private CompletableFuture<Void> refreshTreeContentFromLS(CompileUnit compileUnit, IProgressMonitor monitor) {
 		if (compileUnit == null || !compileUnit.isDirty) {
-			return;
+			return CompletableFuture.completedFuture(null);
+		}
+		if (compileUnit.version != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP && compileUnit.file != null
+				&& compileUnit.version == version(LSPEclipseUtils.getExistingDocument(compileUnit.file))) {
+			// never request the symbols of an unchanged document version again:
+			compileUnit.isDirty = false;
+			return CompletableFuture.completedFuture(null);
+		}
+		while (true) {
+			var pending = compileUnit.pending.get();
+			if (pending != null) {
+				var waiter = pending.join();
+				if (waiter.isPresent()) {
+					return waiter.get();
+				}
+				// cancelled by its last waiter, never hand it out again:
+				compileUnit.pending.compareAndSet(pending, null);
+				continue;
+			}
+			if (!acquirePermit(monitor)) {
+				var cancelled = new CompletableFuture<Void>();
+				cancelled.cancel(true);
+				return cancelled;
+			}
+			var request = new SharedSymbolsRequest();
+			if (!compileUnit.pending.compareAndSet(null, request)) {
+				permits.release();
+				continue;
+			}
+			var waiter = request.join().get();
+			request.result().whenComplete((r, e) -> {
+				if (request.isCancelled()) {
+					// a re-expansion shall send a new request:
+					compileUnit.pending.compareAndSet(request, null);
+				}
+			});
+			requestSymbols(compileUnit, request).whenComplete((r, e) -> {
+				permits.release();
+				compileUnit.pending.compareAndSet(request, null);
+				request.result().complete(null);
+			});
+			return waiter;
 		}
-		lock.lock();
+	}
+
+	private CompletableFuture<?> requestSymbols(CompileUnit compileUnit, SharedSymbolsRequest result) {
+		CompletableFuture<SymbolsResponse> response;
+		var server = compileUnit.file != null && LSPEclipseUtils.getExistingDocument(compileUnit.file) == null
+				? DetachedDocumentSymbols.findServer(compileUnit.file)
+				: Optional.<LanguageServerWrapper>empty();
+		if (server.isPresent()) {
+			// not opened in Eclipse and the language server is already running: no need to look up a language server
+			var stamp = FileStamp.of(compileUnit.uri);
+			response = DetachedDocumentSymbols
+					.request(server.get(), compileUnit.file, compileUnit.uri, result::setLanguageServerRequest)
+					.thenApply(symbols -> new SymbolsResponse(symbols, stamp,
+							IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP));
+		} else {
+			response = requestFromDocument(compileUnit, result);
+		}
+		return response.handle((r, e) -> {
+			var cause = e instanceof CompletionException ? e.getCause() : e;
+			if (result.isCancelled() || cause instanceof CancellationException) {
+				// stays dirty
+			} else if (cause != null) {
+				Platform.getLog(getClass()).error(cause.getMessage(), cause);
+				compileUnit.symbolsModel.update(null);
+				// reset dirty only when no TimeoutException occurred:
+				compileUnit.isDirty = cause instanceof TimeoutException;
+			} else if (r == null) {
+				compileUnit.symbolsModel.update(null);
+			} else {
+				compileUnit.symbolsModel.update(r.symbols());
+				compileUnit.version = r.version();
+				compileUnit.isDirty = false;
+				cachedSymbols.updateWeight(compileUnit.uri, compileUnit, compileUnit.countSymbols());
+				persist(compileUnit.uri, r.stamp(), r.symbols());
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Requests the symbols by means of the document of the compile unit. If the document has not been opened yet,
+	 * it gets connected temporarily, which also starts the language server if necessary.
+	 *
+	 * @return the response, {@code null} if there is no document
+	 */
+	private CompletableFuture<SymbolsResponse> requestFromDocument(CompileUnit compileUnit,
+			SharedSymbolsRequest result) {
 		boolean temporaryLoadedDocument = false;
 		try {
 			IDocument document = LSPEclipseUtils.getExistingDocument(compileUnit.file);
@@ -231,62 +571,76 @@ public class SymbolsManager implements IDeferredWorkbenchAdapter {
 				if (document == null) {
 					document = LSPEclipseUtils.getDocument(compileUnit.uri);
 				}
-				temporaryLoadedDocument = true;
+				temporaryLoadedDocument = document != null;
 			}
-			if (document != null) {
-				var isTimeoutException = new boolean[1];
-				CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> symbols;
-				final var params = new DocumentSymbolParams(LSPEclipseUtils.toTextDocumentIdentifier(document));
-				CompletableFuture<Optional<LanguageServerWrapper>> languageServer = LanguageServers
-						.forDocument(document).withCapability(ServerCapabilities::getDocumentSymbolProvider)
-						.computeFirst((w, ls) -> CompletableFuture.completedFuture(w));
-				try {
-					symbols = languageServer.get(1000, TimeUnit.MILLISECONDS).filter(Objects::nonNull)
-							.filter(LanguageServerWrapper::isActive)
-							.map(s -> s.execute(ls -> ls.getTextDocumentService().documentSymbol(params)))
-							.orElse(CompletableFuture.completedFuture(null));
-				} catch (TimeoutException | ExecutionException | InterruptedException e) {
-					Platform.getLog(getClass()).error(e.getMessage(), e);
-					symbols = CompletableFuture.completedFuture(null);
-					if (e instanceof InterruptedException) {
-						Thread.currentThread().interrupt();
-					} else if (e instanceof TimeoutException) {
-						isTimeoutException[0] = true;
-					}
-				}
-				symbols.thenAcceptAsync(response -> {
-					compileUnit.symbolsModel.update(response);
-					compileUnit.isDirty = isTimeoutException[0]; // reset dirty only when no TimeoutException occurred
-				}).join();
-			} else {
-				temporaryLoadedDocument = false;
-				compileUnit.symbolsModel.update(null);
+			if (document == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+			final var params = new DocumentSymbolParams(LSPEclipseUtils.toTextDocumentIdentifier(document));
+			final var version = version(document);
+			final var buffer = FileBuffers.getTextFileBufferManager().getTextFileBuffer(document);
+			final var stamp = buffer == null || !buffer.isDirty() ? FileStamp.of(compileUnit.uri)
+					: Optional.<FileStamp>empty();
+			var request = LanguageServers.forDocument(document)
+					.withCapability(ServerCapabilities::getDocumentSymbolProvider)
+					.computeFirst((w, ls) -> CompletableFuture.completedFuture(w))
+					.orTimeout(LANGUAGE_SERVER_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+					.thenCompose(languageServer -> languageServer.filter(Objects::nonNull)
+							.filter(LanguageServerWrapper::isActive).filter(s -> !result.isCancelled()).map(s -> {
+								var symbols = s.execute(ls -> ls.getTextDocumentService().documentSymbol(params));
+								result.setLanguageServerRequest(symbols);
+								return symbols;
+							}).orElse(CompletableFuture.completedFuture(null)))
+					.thenApply(symbols -> new SymbolsResponse(symbols, stamp, version));
+			if (temporaryLoadedDocument) {
+				return request.whenComplete((r, e) -> disconnect(compileUnit));
 			}
+			return request;
 		} catch (Exception e) {
 			Platform.getLog(getClass()).error(e.getMessage(), e);
-		} finally {
 			if (temporaryLoadedDocument) {
-				//Note: the LS will be terminated via the shutdown command by LSP4E, when all documents have been disconnected.
-				//This is the case when no file is opened in the LSP based C/C++ editor.
-				if (compileUnit.file != null) {
-					try {
-						FileBuffers.getTextFileBufferManager().disconnect(compileUnit.file.getFullPath(),
-								LocationKind.IFILE, new NullProgressMonitor());
-					} catch (CoreException e) {
-						Platform.getLog(getClass()).error(e.getMessage(), e);
-					}
-				} else {
-					try {
-						ITextFileBufferManager bufferManager = FileBuffers.getTextFileBufferManager();
-						if (bufferManager != null) {
-							bufferManager.disconnectFileStore(EFS.getStore(compileUnit.uri), new NullProgressMonitor());
-						}
-					} catch (CoreException e) {
-						Platform.getLog(getClass()).error(e.getMessage(), e);
-					}
+				disconnect(compileUnit);
+			}
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
+	/**
+	 * Persists the symbols in the background, if they have been computed from the unmodified file on disk.
+	 */
+	private void persist(URI uri, Optional<FileStamp> stamp, List<Either<SymbolInformation, DocumentSymbol>> response) {
+		if (persistedSymbols.isEmpty() || stamp.isEmpty() || response == null
+				|| !response.stream().allMatch(Either::isRight)) {
+			return;
+		}
+		var symbols = response.stream().map(Either::getRight).toList();
+		CompletableFuture.runAsync(() -> {
+			// skip if the file has been modified in the meantime:
+			if (stamp.equals(FileStamp.of(uri))) {
+				persistedSymbols.get().write(uri, stamp.get(), symbols);
+			}
+		});
+	}
+
+	private void disconnect(CompileUnit compileUnit) {
+		//Note: the LS will be terminated via the shutdown command by LSP4E, when all documents have been disconnected.
+		//This is the case when no file is opened in the LSP based C/C++ editor.
+		if (compileUnit.file != null) {
+			try {
+				FileBuffers.getTextFileBufferManager().disconnect(compileUnit.file.getFullPath(), LocationKind.IFILE,
+						new NullProgressMonitor());
+			} catch (CoreException e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+			}
+		} else {
+			try {
+				ITextFileBufferManager bufferManager = FileBuffers.getTextFileBufferManager();
+				if (bufferManager != null) {
+					bufferManager.disconnectFileStore(EFS.getStore(compileUnit.uri), new NullProgressMonitor());
 				}
+			} catch (CoreException e) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
 			}
-			lock.unlock();
 		}
 	}
 
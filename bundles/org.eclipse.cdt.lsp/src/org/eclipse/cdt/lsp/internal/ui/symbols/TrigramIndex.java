@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.symbols;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case insensitive substring index of names. Each name is split into its trigrams, a query only verifies the items
+ * which contain all trigrams of the query. Queries shorter than three characters scan all items.
+ * All methods are thread safe.
+ *
+ * @param <T> the indexed item
+ */
+public final class TrigramIndex<T> {
+	private static final int N = 3;
+
+	private final int maxSize;
+	private final Map<T, String> names = new LinkedHashMap<>();
+	/**
+	 * The items per trigram in order of their insertion, which gives the order of the query results.
+	 */
+	private final Map<String, Set<T>> postings = new HashMap<>();
+
+	/**
+	 * @param maxSize maximum number of items, the index gets cleared when it's exceeded
+	 */
+	public TrigramIndex(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Adds an item, nothing happens if it's already indexed.
+	 *
+	 * @param name the name to be searched
+	 * @param item the item
+	 */
+	public synchronized void add(String name, T item) {
+		if (names.containsKey(item)) {
+			return;
+		}
+		if (names.size() >= maxSize) {
+			clear();
+		}
+		var normalized = name.toLowerCase(Locale.ROOT);
+		names.put(item, normalized);
+		for (var trigram : trigrams(normalized)) {
+			postings.computeIfAbsent(trigram, key -> new LinkedHashSet<>()).add(item);
+		}
+	}
+
+	/**
+	 * Returns the items whose name contains the query, ignoring case.
+	 *
+	 * @param query the query
+	 * @param limit maximum number of items
+	 * @return the matching items in order of their insertion
+	 */
+	public synchronized List<T> query(String query, int limit) {
+		var normalized = query.toLowerCase(Locale.ROOT);
+		var result = new ArrayList<T>();
+		if (normalized.length() < N) {
+			for (var entry : names.entrySet()) {
+				if (result.size() >= limit) {
+					break;
+				}
+				if (entry.getValue().contains(normalized)) {
+					result.add(entry.getKey());
+				}
+			}
+			return result;
+		}
+		var candidates = new ArrayList<Set<T>>();
+		for (var trigram : trigrams(normalized)) {
+			var items = postings.get(trigram);
+			if (items == null) {
+				return result;
+			}
+			candidates.add(items);
+		}
+		candidates.sort(Comparator.comparingInt(Set::size));
+		for (var item : candidates.get(0)) {
+			if (result.size() >= limit) {
+				break;
+			}
+			if (candidates.stream().allMatch(items -> items.contains(item)) && names.get(item).contains(normalized)) {
+				result.add(item);
+			}
+		}
+		return result;
+	}
+
+	public synchronized int size() {
+		return names.size();
+	}
+
+	public synchronized void clear() {
+		names.clear();
+		postings.clear();
+	}
+
+	private static Set<String> trigrams(String name) {
+		var trigrams = new HashSet<String>();
+		for (int i = 0; i + N <= name.length(); i++) {
+			trigrams.add(name.substring(i, i + N));
+		}
+		return trigrams;
+	}
+
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.symbols;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Searches symbols in the workspace by means of {@code workspace/symbol}, which clangd answers from its background
+ * index. The symbols returned by the language server are kept in a {@link TrigramIndex}, so a query first gets answered
+ * from the local index and is then completed by the results of each running language server as they arrive.
+ * A new query cancels the requests of the previous one.
+ */
+public final class WorkspaceSymbolsSearch {
+	/**
+	 * Maximum number of symbols delivered per query.
+	 */
+	public static final int MAX_RESULTS = 1000;
+	private static final int MAX_INDEXED_SYMBOLS = 200_000;
+
+	/**
+	 * A symbol found in the workspace.
+	 *
+	 * @param name the symbol name
+	 * @param container the name of the containing symbol, may be {@code null}
+	 * @param kind the symbol kind
+	 * @param location the symbol location
+	 */
+	public record Entry(String name, String container, SymbolKind kind, Location location) {
+	}
+
+	private final TrigramIndex<Entry> index = new TrigramIndex<>(MAX_INDEXED_SYMBOLS);
+	private final List<CompletableFuture<?>> running = new ArrayList<>();
+	/**
+	 * Incremented with each cancellation, so a request sent after its query has been cancelled gets cancelled too.
+	 */
+	private long generation;
+
+	/**
+	 * Answers a query from the symbols returned by previous queries, without asking the language server.
+	 *
+	 * @param query the query
+	 * @return the matching symbols known so far
+	 */
+	public List<Entry> localMatches(String query) {
+		return index.query(query, MAX_RESULTS);
+	}
+
+	/**
+	 * Starts a new query and cancels the previous one. The consumer gets called with the local matches immediately
+	 * and again, from a background thread, each time a language server has answered.
+	 *
+	 * @param query the query
+	 * @param results consumer of the matching symbols found so far
+	 */
+	public synchronized void search(String query, Consumer<List<Entry>> results) {
+		cancel();
+		results.accept(index.query(query, MAX_RESULTS));
+		if (query.isBlank()) {
+			return;
+		}
+		final var params = new WorkspaceSymbolParams(query);
+		final var current = generation;
+		for (var wrapper : LspUtils.getLanguageServers()) {
+			var symbols = wrapper.execute(ls -> {
+				var request = ls.getWorkspaceService().symbol(params);
+				synchronized (this) {
+					if (current == generation) {
+						running.add(request);
+					} else {
+						request.cancel(true);
+					}
+				}
+				return request;
+			});
+			running.add(symbols);
+			symbols.thenAccept(response -> {
+				toEntries(response).forEach(entry -> index.add(entry.name(), entry));
+				results.accept(index.query(query, MAX_RESULTS));
+			}).exceptionally(e -> {
+				if (!(e.getCause() instanceof CancellationException)) {
+					Platform.getLog(getClass()).error(e.getMessage(), e);
+				}
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Cancels the requests of the current query. The language server gets notified by {@code $/cancelRequest}.
+	 */
+	public synchronized void cancel() {
+		generation++;
+		running.forEach(request -> request.cancel(true));
+		running.clear();
+	}
+
+	private static List<Entry> toEntries(
+			Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>> response) {
+		var entries = new ArrayList<Entry>();
+		if (response == null) {
+			return entries;
+		}
+		if (response.isLeft()) {
+			response.getLeft().forEach(symbol -> entries.add(
+					new Entry(symbol.getName(), symbol.getContainerName(), symbol.getKind(), symbol.getLocation())));
+		} else {
+			response.getRight().forEach(symbol -> {
+				var location = symbol.getLocation().isLeft() ? symbol.getLocation().getLeft()
+						: new Location(symbol.getLocation().getRight().getUri(),
+								new Range(new Position(0, 0), new Position(0, 0)));
+				entries.add(new Entry(symbol.getName(), symbol.getContainerName(), symbol.getKind(), location));
+			});
+		}
+		return entries;
+	}
+
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui.symbols;
+
+import java.util.List;
+
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.cdt.lsp.internal.ui.symbols.WorkspaceSymbolsSearch.Entry;
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.ui.LSPImages;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.ui.part.ViewPart;
+
+/**
+ * View to search the symbols of the whole workspace. The results are re-filtered locally while typing and get
+ * completed by the language server after a short delay.
+ */
+public final class WorkspaceSymbolsView extends ViewPart {
+	public static final String ID = "org.eclipse.cdt.lsp.views.WorkspaceSymbols"; //$NON-NLS-1$
+	/**
+	 * Delay after the last key stroke before the language server gets queried.
+	 */
+	private static final int QUERY_DELAY_MS = 200;
+
+	private final WorkspaceSymbolsSearch search = new WorkspaceSymbolsSearch();
+	private Text filter;
+	private TableViewer viewer;
+	private Runnable pendingQuery;
+
+	@Override
+	public void createPartControl(Composite parent) {
+		GridLayoutFactory.fillDefaults().applyTo(parent);
+		filter = new Text(parent, SWT.SEARCH | SWT.ICON_SEARCH | SWT.ICON_CANCEL);
+		filter.setMessage(LspUiMessages.WorkspaceSymbolsView_Filter);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(filter);
+		viewer = new TableViewer(parent, SWT.SINGLE | SWT.FULL_SELECTION | SWT.V_SCROLL);
+		GridDataFactory.fillDefaults().grab(true, true).applyTo(viewer.getControl());
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setLabelProvider(new LabelProvider() {
+
+			@Override
+			public String getText(Object element) {
+				if (element instanceof Entry entry) {
+					return entry.container() == null || entry.container().isEmpty() ? entry.name()
+							: entry.name() + " - " + entry.container(); //$NON-NLS-1$
+				}
+				return super.getText(element);
+			}
+
+			@Override
+			public Image getImage(Object element) {
+				return element instanceof Entry entry ? LSPImages.imageFromSymbolKind(entry.kind()) : null;
+			}
+		});
+		viewer.addOpenListener(event -> {
+			if (event.getSelection() instanceof IStructuredSelection selection
+					&& selection.getFirstElement() instanceof Entry entry) {
+				LSPEclipseUtils.openInEditor(entry.location());
+			}
+		});
+		filter.addModifyListener(event -> query(filter.getText()));
+	}
+
+	private void query(String query) {
+		var display = filter.getDisplay();
+		if (pendingQuery != null) {
+			display.timerExec(-1, pendingQuery);
+		}
+		// re-filter the symbols known so far immediately:
+		show(query, search.localMatches(query));
+		pendingQuery = () -> {
+			pendingQuery = null;
+			search.search(query, results -> display.asyncExec(() -> show(query, results)));
+		};
+		display.timerExec(QUERY_DELAY_MS, pendingQuery);
+	}
+
+	private void show(String query, List<Entry> results) {
+		if (viewer != null && !viewer.getControl().isDisposed() && query.equals(filter.getText())) {
+			viewer.setInput(results);
+		}
+	}
+
+	@Override
+	public void setFocus() {
+		filter.setFocus();
+	}
+
+	@Override
+	public void dispose() {
+		search.cancel();
+		super.dispose();
+	}
+
+}
@@ -16,9 +16,12 @@ package org.eclipse.cdt.lsp.plugin;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.eclipse.cdt.lsp.internal.editor.WorkbenchEditorIndex;
 import org.eclipse.cdt.lsp.internal.server.CLanguageServerEnableCache;
 import org.eclipse.cdt.lsp.internal.server.CLanguageServerRegistry;
+import org.eclipse.cdt.lsp.internal.ui.navigator.SymbolsManager;
 import org.eclipse.cdt.lsp.server.ICLanguageServerProvider;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 
@@ -52,6 +55,10 @@ public class LspPlugin extends AbstractUIPlugin {
 		super.start(context);
 		plugin = this;
 		cLanguageServerProvider = new CLanguageServerRegistry().createCLanguageServerProvider();
+		// the index is connected by EditorIndexStartup, unless the workbench startup has already completed:
+		if (PlatformUI.isWorkbenchRunning() && !PlatformUI.getWorkbench().isStarting()) {
+			WorkbenchEditorIndex.startInWorkbench();
+		}
 
 		// Disable warnings, see https://github.com/eclipse-cdt/cdt-lsp/issues/88 and https://github.com/eclipse-cdt/cdt-lsp/issues/101
 		logger.setLevel(Level.SEVERE);
@@ -60,6 +67,8 @@ public class LspPlugin extends AbstractUIPlugin {
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		CLanguageServerEnableCache.stop();
+		WorkbenchEditorIndex.stop();
+		SymbolsManager.stop();
 		plugin = null;
 		super.stop(context);
 	}
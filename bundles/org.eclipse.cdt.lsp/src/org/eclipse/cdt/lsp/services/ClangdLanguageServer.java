@@ -16,6 +16,7 @@ package org.eclipse.cdt.lsp.services;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.cdt.lsp.services.ast.AstNode;
+import org.eclipse.cdt.lsp.services.ast.CompactAst;
 import org.eclipse.cdt.lsp.services.ast.AstParams;
 import org.eclipse.cdt.lsp.services.symbolinfo.SymbolDetails;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
@@ -53,13 +54,17 @@ public interface ClangdLanguageServer extends LanguageServer {
 	 * details about the program structure (so called abstract syntax tree or AST) in a C++ file.
 	 * The structure can be requested for the whole file or for a certain range.
 	 *
+	 * The response is read directly into a {@link CompactAst}, without creating a tree of {@link AstNode}s first.
+	 * Use {@link CompactAst#toAstNode(int)} to materialize the subtree of interest.
+	 *
 	 * @param astParameters request parameters containing the document identifier and requested documented range
-	 * @return the abstract syntax tree root node (with child hierarchy) for the requested document and range
+	 * @return the abstract syntax tree for the requested document and range, the root node has index 0
 	 *
 	 * @see https://clangd.llvm.org/extensions#ast
+	 * @since 4.0
 	 */
 	@JsonRequest(value = "textDocument/ast")
-	CompletableFuture<AstNode> getAst(AstParams astParameters);
+	CompletableFuture<CompactAst> getAst(AstParams astParameters);
 
 	/**
 	 * The <em>textDocument/symbolInfo</em> request is sent from the client to the server in order to access
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.services.ast;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Provides the abstract syntax tree of a document by means of {@link ClangdLanguageServer#getAst(AstParams)}.
+ * Subtrees are cached per document version, so repeated requests for the same or an enclosed range,
+ * e.g. on each caret move, are answered without a round trip to the language server.
+ *
+ * @since 4.0
+ */
+public interface AstProvider {
+
+	/**
+	 * Returns the deepest AST node enclosing the given range.
+	 * Cancelling the returned future does not cancel a request shared with other callers.
+	 *
+	 * @param document the document connected to the language server
+	 * @param range the range
+	 * @return the enclosing AST node including its children, empty if there is no clangd for the document
+	 */
+	CompletableFuture<Optional<AstNode>> getAst(IDocument document, Range range);
+
+}
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.services.ast;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import com.google.gson.annotations.JsonAdapter;
+
+/**
+ * Memory efficient, read-only representation of the result of {@link ClangdLanguageServer#getAst(AstParams)}.
+ * The nodes are stored in pre-order in parallel arrays and addressed by their index, the root has index 0.
+ * The subtree of a node spans the indices from the node to {@link #subtreeEnd(int)} (exclusive), so the first child
+ * of a node directly follows it and each further child follows the subtree of its previous sibling.
+ * Roles, kinds and details are interned, positions are packed into a {@code long} each.
+ * Deserialized by {@link CompactAstTypeAdapter} directly from the JSON stream without creating {@link AstNode}s.
+ *
+ * @since 4.0
+ */
+@JsonAdapter(CompactAstTypeAdapter.class)
+public final class CompactAst {
+
+	private final String[] strings;
+	private final int[] roles;
+	private final int[] kinds;
+	private final int[] details;
+	private final String[] arcana;
+	private final long[] starts;
+	private final long[] ends;
+	private final int[] subtreeEnds;
+
+	private CompactAst(Builder builder) {
+		var size = builder.size;
+		this.strings = builder.strings.toArray(String[]::new);
+		this.roles = Arrays.copyOf(builder.roles, size);
+		this.kinds = Arrays.copyOf(builder.kinds, size);
+		this.details = Arrays.copyOf(builder.details, size);
+		this.arcana = builder.hasArcana ? Arrays.copyOf(builder.arcana, size) : null;
+		this.starts = Arrays.copyOf(builder.starts, size);
+		this.ends = Arrays.copyOf(builder.ends, size);
+		this.subtreeEnds = Arrays.copyOf(builder.subtreeEnds, size);
+	}
+
+	/**
+	 * Converts an AST which has already been materialized as {@link AstNode}s.
+	 *
+	 * @param root the root node
+	 * @return the compact representation
+	 */
+	public static CompactAst of(AstNode root) {
+		var builder = new Builder();
+		add(builder, root);
+		return builder.build();
+	}
+
+	private static void add(Builder builder, AstNode node) {
+		int index = builder.add();
+		builder.role(index, node.getRole());
+		builder.kind(index, node.getKind());
+		builder.detail(index, node.getDetail());
+		builder.arcana(index, node.getArcana());
+		if (node.getRange() != null) {
+			builder.range(index, node.getRange().getStart().getLine(), node.getRange().getStart().getCharacter(),
+					node.getRange().getEnd().getLine(), node.getRange().getEnd().getCharacter());
+		}
+		if (node.getChildren() != null) {
+			for (var child : node.getChildren()) {
+				add(builder, child);
+			}
+		}
+		builder.end(index);
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return roles.length;
+	}
+
+	public String role(int node) {
+		return string(roles[node]);
+	}
+
+	public String kind(int node) {
+		return string(kinds[node]);
+	}
+
+	public String detail(int node) {
+		return string(details[node]);
+	}
+
+	public String arcana(int node) {
+		return arcana == null ? null : arcana[node];
+	}
+
+	public int startLine(int node) {
+		return line(starts[node]);
+	}
+
+	public int startCharacter(int node) {
+		return character(starts[node]);
+	}
+
+	public int endLine(int node) {
+		return line(ends[node]);
+	}
+
+	public int endCharacter(int node) {
+		return character(ends[node]);
+	}
+
+	/**
+	 * @return a new range object for the given node
+	 */
+	public Range range(int node) {
+		return new Range(new Position(startLine(node), startCharacter(node)),
+				new Position(endLine(node), endCharacter(node)));
+	}
+
+	/**
+	 * @return the index after the last node of the subtree of the given node
+	 */
+	public int subtreeEnd(int node) {
+		return subtreeEnds[node];
+	}
+
+	/**
+	 * @return the indices of the direct children of the given node
+	 */
+	public int[] children(int node) {
+		int count = 0;
+		for (int child = node + 1; child < subtreeEnds[node]; child = subtreeEnds[child]) {
+			count++;
+		}
+		var children = new int[count];
+		for (int i = 0, child = node + 1; i < count; i++, child = subtreeEnds[child]) {
+			children[i] = child;
+		}
+		return children;
+	}
+
+	/**
+	 * Descends from the root to the deepest node enclosing the given range.
+	 *
+	 * @param range the range
+	 * @return the index of the node, -1 if the root doesn't enclose the range
+	 */
+	public int findEnclosing(Range range) {
+		long start = pack(range.getStart().getLine(), range.getStart().getCharacter());
+		long end = pack(range.getEnd().getLine(), range.getEnd().getCharacter());
+		if (size() == 0 || !encloses(0, start, end)) {
+			return -1;
+		}
+		int node = 0;
+		int child = 1;
+		while (child < subtreeEnds[node]) {
+			if (encloses(child, start, end)) {
+				node = child;
+				child = node + 1;
+			} else {
+				child = subtreeEnds[child];
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Materializes the subtree of the given node, e.g. for API expecting {@link AstNode}s.
+	 *
+	 * @param node the index of the node
+	 * @return the node including its children
+	 */
+	public AstNode toAstNode(int node) {
+		var result = new AstNode();
+		result.setRole(role(node));
+		result.setKind(kind(node));
+		result.setDetail(detail(node));
+		result.setArcana(arcana(node));
+		result.setRange(range(node));
+		var children = children(node);
+		if (children.length > 0) {
+			var childNodes = new AstNode[children.length];
+			for (int i = 0; i < children.length; i++) {
+				childNodes[i] = toAstNode(children[i]);
+			}
+			result.setChildren(childNodes);
+		}
+		return result;
+	}
+
+	private boolean encloses(int node, long start, long end) {
+		return starts[node] <= start && end <= ends[node];
+	}
+
+	private String string(int index) {
+		return index < 0 ? null : strings[index];
+	}
+
+	private static long pack(int line, int character) {
+		return ((long) line << 32) | (character & 0xFFFFFFFFL);
+	}
+
+	private static int line(long position) {
+		return (int) (position >>> 32);
+	}
+
+	private static int character(long position) {
+		return (int) position;
+	}
+
+	/**
+	 * Collects the nodes in pre-order. A node gets added before its children, its fields may be set in any order
+	 * until {@link #end(int)} is called after its last child.
+	 */
+	static final class Builder {
+		private final Map<String, Integer> pool = new HashMap<>();
+		private final List<String> strings = new ArrayList<>();
+		private int size;
+		private int[] roles = new int[64];
+		private int[] kinds = new int[64];
+		private int[] details = new int[64];
+		private String[] arcana = new String[64];
+		private boolean hasArcana;
+		private long[] starts = new long[64];
+		private long[] ends = new long[64];
+		private int[] subtreeEnds = new int[64];
+
+		int add() {
+			if (size == roles.length) {
+				int capacity = size * 2;
+				roles = Arrays.copyOf(roles, capacity);
+				kinds = Arrays.copyOf(kinds, capacity);
+				details = Arrays.copyOf(details, capacity);
+				arcana = Arrays.copyOf(arcana, capacity);
+				starts = Arrays.copyOf(starts, capacity);
+				ends = Arrays.copyOf(ends, capacity);
+				subtreeEnds = Arrays.copyOf(subtreeEnds, capacity);
+			}
+			roles[size] = -1;
+			kinds[size] = -1;
+			details[size] = -1;
+			return size++;
+		}
+
+		void role(int node, String role) {
+			roles[node] = intern(role);
+		}
+
+		void kind(int node, String kind) {
+			kinds[node] = intern(kind);
+		}
+
+		void detail(int node, String detail) {
+			details[node] = intern(detail);
+		}
+
+		void arcana(int node, String value) {
+			arcana[node] = value;
+			hasArcana |= value != null;
+		}
+
+		void range(int node, int startLine, int startCharacter, int endLine, int endCharacter) {
+			starts[node] = pack(startLine, startCharacter);
+			ends[node] = pack(endLine, endCharacter);
+		}
+
+		void start(int node, int line, int character) {
+			starts[node] = pack(line, character);
+		}
+
+		void end(int node, int line, int character) {
+			ends[node] = pack(line, character);
+		}
+
+		void end(int node) {
+			subtreeEnds[node] = size;
+		}
+
+		CompactAst build() {
+			return new CompactAst(this);
+		}
+
+		private int intern(String value) {
+			if (value == null) {
+				return -1;
+			}
+			return pool.computeIfAbsent(value, key -> {
+				strings.add(key);
+				return strings.size() - 1;
+			});
+		}
+	}
+
+}
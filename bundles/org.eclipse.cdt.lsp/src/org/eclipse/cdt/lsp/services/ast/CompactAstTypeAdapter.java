@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.services.ast;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Reads a <em>textDocument/ast</em> response token by token into a {@link CompactAst}, so the AST never exists
+ * as a tree of {@link AstNode} objects. Writes the same JSON structure as {@link AstNode} is serialized to.
+ *
+ * @since 4.0
+ */
+public final class CompactAstTypeAdapter extends TypeAdapter<CompactAst> {
+
+	@Override
+	public CompactAst read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		var builder = new CompactAst.Builder();
+		readNode(in, builder);
+		return builder.build();
+	}
+
+	private void readNode(JsonReader in, CompactAst.Builder builder) throws IOException {
+		int node = builder.add();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+			case "role" -> builder.role(node, nextString(in)); //$NON-NLS-1$
+			case "kind" -> builder.kind(node, nextString(in)); //$NON-NLS-1$
+			case "detail" -> builder.detail(node, nextString(in)); //$NON-NLS-1$
+			case "arcana" -> builder.arcana(node, nextString(in)); //$NON-NLS-1$
+			case "range" -> readRange(in, builder, node); //$NON-NLS-1$
+			case "children" -> { //$NON-NLS-1$
+				if (in.peek() == JsonToken.NULL) {
+					in.nextNull();
+				} else {
+					in.beginArray();
+					while (in.hasNext()) {
+						readNode(in, builder);
+					}
+					in.endArray();
+				}
+			}
+			default -> in.skipValue();
+			}
+		}
+		in.endObject();
+		builder.end(node);
+	}
+
+	private void readRange(JsonReader in, CompactAst.Builder builder, int node) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return;
+		}
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+			case "start" -> { //$NON-NLS-1$
+				var position = readPosition(in);
+				builder.start(node, position[0], position[1]);
+			}
+			case "end" -> { //$NON-NLS-1$
+				var position = readPosition(in);
+				builder.end(node, position[0], position[1]);
+			}
+			default -> in.skipValue();
+			}
+		}
+		in.endObject();
+	}
+
+	private int[] readPosition(JsonReader in) throws IOException {
+		var position = new int[2];
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+			case "line" -> position[0] = in.nextInt(); //$NON-NLS-1$
+			case "character" -> position[1] = in.nextInt(); //$NON-NLS-1$
+			default -> in.skipValue();
+			}
+		}
+		in.endObject();
+		return position;
+	}
+
+	private String nextString(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return in.nextString();
+	}
+
+	@Override
+	public void write(JsonWriter out, CompactAst ast) throws IOException {
+		if (ast == null || ast.size() == 0) {
+			out.nullValue();
+			return;
+		}
+		writeNode(out, ast, 0);
+	}
+
+	private void writeNode(JsonWriter out, CompactAst ast, int node) throws IOException {
+		out.beginObject();
+		out.name("role").value(ast.role(node)); //$NON-NLS-1$
+		out.name("kind").value(ast.kind(node)); //$NON-NLS-1$
+		if (ast.detail(node) != null) {
+			out.name("detail").value(ast.detail(node)); //$NON-NLS-1$
+		}
+		if (ast.arcana(node) != null) {
+			out.name("arcana").value(ast.arcana(node)); //$NON-NLS-1$
+		}
+		out.name("range").beginObject(); //$NON-NLS-1$
+		out.name("start").beginObject() //$NON-NLS-1$
+				.name("line").value(ast.startLine(node)) //$NON-NLS-1$
+				.name("character").value(ast.startCharacter(node)) //$NON-NLS-1$
+				.endObject();
+		out.name("end").beginObject() //$NON-NLS-1$
+				.name("line").value(ast.endLine(node)) //$NON-NLS-1$
+				.name("character").value(ast.endCharacter(node)) //$NON-NLS-1$
+				.endObject();
+		out.endObject();
+		var children = ast.children(node);
+		if (children.length > 0) {
+			out.name("children").beginArray(); //$NON-NLS-1$
+			for (var child : children) {
+				writeNode(out, ast, child);
+			}
+			out.endArray();
+		}
+		out.endObject();
+	}
+
+}
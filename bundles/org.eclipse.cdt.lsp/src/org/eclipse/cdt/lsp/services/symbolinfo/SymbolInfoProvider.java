@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.services.symbolinfo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Position;
+
+/**
+ * Provides the symbol details for many positions of a document by means of
+ * {@link ClangdLanguageServer#getSymbolInfo(org.eclipse.lsp4j.TextDocumentPositionParams)}.
+ * The requests are pipelined with a bounded number of requests in flight and cached per document version,
+ * e.g. to annotate a whole file or to highlight all references of the same symbol.
+ *
+ * @since 4.0
+ */
+public interface SymbolInfoProvider {
+
+	/**
+	 * Hit rate of the symbols looked up by {@link SymbolInfoProvider#getSymbolDetails(String)}.
+	 *
+	 * @param hits number of lookups answered from the cache
+	 * @param misses number of lookups of unknown symbols
+	 * @param evictions number of symbols evicted to bound the cache
+	 * @param size number of cached symbols
+	 */
+	record Statistics(long hits, long misses, long evictions, int size) {
+	}
+
+	/**
+	 * Requests the symbol details for all given positions.
+	 * Symbols with the same {@link SymbolDetails#getUsr() USR} are represented by the same {@link SymbolDetails} instance.
+	 *
+	 * @param document the document connected to the language server
+	 * @param positions the positions in the document
+	 * @return the symbol details per position in the order of the given positions,
+	 *         an empty list for a position without symbol or if there is no clangd for the document
+	 */
+	CompletableFuture<Map<Position, List<SymbolDetails>>> getSymbolInfo(IDocument document,
+			Collection<Position> positions);
+
+	/**
+	 * Looks up a symbol returned by a previous request of any document. A symbol gets dropped when a document
+	 * containing its declaration or definition changes.
+	 *
+	 * @param usr the unified symbol resolution identifier
+	 * @return the symbol details, empty if not known
+	 */
+	Optional<SymbolDetails> getSymbolDetails(String usr);
+
+	/**
+	 * @param usr the unified symbol resolution identifier
+	 * @return the declaration of a known symbol
+	 */
+	default Optional<RangeAndUri> getDeclaration(String usr) {
+		return getSymbolDetails(usr).map(SymbolDetails::getDeclarationRange);
+	}
+
+	/**
+	 * @param usr the unified symbol resolution identifier
+	 * @return the definition of a known symbol
+	 */
+	default Optional<RangeAndUri> getDefinition(String usr) {
+		return getSymbolDetails(usr).map(SymbolDetails::getDefinitionRange);
+	}
+
+	/**
+	 * @return the hit rate of {@link #getSymbolDetails(String)}
+	 */
+	Statistics getStatistics();
+
+}
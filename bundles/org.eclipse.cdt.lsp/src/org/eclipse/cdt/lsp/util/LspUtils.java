@@ -14,11 +14,13 @@ package org.eclipse.cdt.lsp.util;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.eclipse.cdt.lsp.editor.EditorIndex;
+import org.eclipse.cdt.lsp.editor.EditorState;
+import org.eclipse.cdt.lsp.internal.editor.WorkbenchEditorIndex;
 import org.eclipse.cdt.lsp.plugin.LspPlugin;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -32,11 +34,8 @@ import org.eclipse.lsp4e.LanguageServiceAccessor;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IFileEditorInput;
-import org.eclipse.ui.IURIEditorInput;
-import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.ide.FileStoreEditorInput;
-import org.eclipse.ui.part.FileEditorInput;
 
 public class LspUtils {
 
@@ -54,86 +53,64 @@ public class LspUtils {
 		if (uri == null) {
 			return false;
 		}
-		var editors = getEditors();
-		if (!editors.isEmpty()) {
-			for (IEditorReference editor : editors) {
-				IEditorInput editorInput = null;
-				URI editorUnputURI = null;
-				try {
-					editorInput = editor.getEditorInput();
-				} catch (PartInitException e) {
-					Platform.getLog(LspUtils.class).error(e.getMessage(), e);
-					continue;
-				}
-
-				if (editorInput instanceof IURIEditorInput) {
-					editorUnputURI = ((IURIEditorInput) editorInput).getURI();
-				} else if (editorInput instanceof FileEditorInput) {
-					editorUnputURI = ((FileEditorInput) editorInput).getFile().getLocationURI();
-				}
-
-				if (uri.equals(editorUnputURI)) {
-					// should return false when an external header file with same URI is opened in a LSP editor
-					// and non LSP editor and tab switching from a non LSP editor to the tab with the file in the non LSP editor:
-					return LspPlugin.LSP_C_EDITOR_ID.equals(editor.getId()) && isLspEditorActive();
-				}
+		var state = getEditorIndex().state();
+		if (!state.isKnown()) {
+			// the index gets connected once the workbench startup has completed, editors restored before must not
+			// be refused their language server:
+			return true;
+		}
+		if (!state.editors().isEmpty()) {
+			var editorIds = state.editorIds(uri);
+			if (!editorIds.isEmpty()) {
+				// should return false when an external header file with same URI is opened in a LSP editor
+				// and non LSP editor and tab switching from a non LSP editor to the tab with the file in the non LSP editor:
+				return editorIds.contains(LspPlugin.LSP_C_EDITOR_ID) && isLspEditorActive(state);
 			}
 			// the file has not been opened yet -> goto definition/declaration case
-			return isLspEditorActive();
+			return isLspEditorActive(state);
 		}
-		return true; // we're lazy here
+		// no editor is opened, hence the file cannot have been opened from a LSP based editor:
+		return false;
 	}
 
 	public static Map<Integer, URI> getFilesInLspBasedEditor() {
-		var uris = new HashMap<Integer, URI>();
-		for (IEditorReference editor : getEditors()) {
-			if (LspPlugin.LSP_C_EDITOR_ID.equals(editor.getId())) {
-				IEditorInput editorInput = null;
-				try {
-					editorInput = editor.getEditorInput();
-				} catch (PartInitException e) {
-					Platform.getLog(LspUtils.class).error(e.getMessage(), e);
-					continue;
-				}
-				int hash = Optional.ofNullable(editor.getPart(true)).map(p -> p.hashCode()).orElse(0);
-				if (hash != 0 && checkForCContentType(editorInput)) {
-					if (editorInput instanceof IURIEditorInput uriEditorInput) {
-						uris.put(hash, uriEditorInput.getURI());
-					} else if (editorInput instanceof FileEditorInput fileEditorInput) {
-						uris.put(hash, fileEditorInput.getFile().getLocationURI());
-					}
-				}
-			}
-		}
-		return uris;
+		return WorkbenchEditorIndex.getInstance().files(LspPlugin.LSP_C_EDITOR_ID);
 	}
 
 	public static boolean isFileOpenedInLspEditor(IEditorInput editorInput, IContentType contentType) {
 		if (editorInput == null) {
 			return false;
 		}
-		var editors = getEditors();
-		if (!editors.isEmpty()) {
-			for (IEditorReference editor : editors) {
-				IEditorInput editorInputFromEditor = null;
-				try {
-					editorInputFromEditor = editor.getEditorInput();
-				} catch (PartInitException e) {
-					Platform.getLog(LspUtils.class).error(e.getMessage(), e);
-					continue;
-				}
-				if (editorInput.equals(editorInputFromEditor)) {
-					return LspPlugin.LSP_C_EDITOR_ID.equals(editor.getId());
-				}
+		var state = getEditorIndex().state();
+		if (!state.editors().isEmpty()) {
+			var editorIds = state.editorIds(WorkbenchEditorIndex.toUri(editorInput));
+			if (!editorIds.isEmpty()) {
+				return editorIds.contains(LspPlugin.LSP_C_EDITOR_ID);
 			}
 			// the file has not been opened yet:
-			return isLspEditorActive();
+			return isLspEditorActive(state);
 		}
 		// check defaults:
 		var desc = PlatformUI.getWorkbench().getEditorRegistry().getDefaultEditor(editorInput.getName(), contentType);
 		return desc != null ? LspPlugin.LSP_C_EDITOR_ID.equals(desc.getId()) : false;
 	}
 
+	/**
+	 * Returns the index of the opened editors. Prefer it over {@link #getEditors()} on hot paths.
+	 *
+	 * @return the editor index
+	 * @since 4.0
+	 */
+	public static EditorIndex getEditorIndex() {
+		return WorkbenchEditorIndex.getInstance();
+	}
+
+	/**
+	 * Collects the editor references of all workbench windows and pages.
+	 * Use {@link #getEditorIndex()} to look up opened files without iterating over all references.
+	 *
+	 * @return list of all editor references
+	 */
 	public static List<IEditorReference> getEditors() {
 		List<IEditorReference> editorsList = new ArrayList<>();
 		for (var window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
@@ -146,15 +123,18 @@ public class LspUtils {
 		return editorsList;
 	}
 
-	private static boolean isLspEditorActive() {
-		var activeWorkbenchWindow = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
-		if (activeWorkbenchWindow != null && activeWorkbenchWindow.getActivePage() != null) {
-			var activeEditor = activeWorkbenchWindow.getActivePage().getActiveEditor();
-			if (activeEditor != null) {
-				return LspPlugin.LSP_C_EDITOR_ID.equals(activeEditor.getEditorSite().getId());
-			}
+	/**
+	 * Checks the active editor by means of a published {@link EditorState}, so it never touches the workbench and
+	 * answers correctly on non UI threads too. This is the case when LSP4E searches for valid LS.
+	 *
+	 * @param state the editor state
+	 * @return {@code true} if the LSP based C/C++ editor is active, or the state is not known yet
+	 */
+	private static boolean isLspEditorActive(EditorState state) {
+		if (!state.isKnown()) {
+			return true;
 		}
-		return true; // activeWorkbenchWindow or active page is null. We've been called probably from a non UI thread. This occurs when LSP4E searches for valid LS. It's fine to return true here.
+		return state.activeEditor().map(LspPlugin.LSP_C_EDITOR_ID::equals).orElse(Boolean.FALSE);
 	}
 
 	public static boolean checkForCContentType(IEditorInput editorInput) {
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.clangd.tests.editor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.lsp.clangd.tests.TestUtils;
+import org.eclipse.cdt.lsp.internal.clangd.editor.SourceHeaderPairs;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class SourceHeaderPairsTest {
+	private IProject project;
+	private SourceHeaderPairs pairs;
+	private final AtomicInteger requests = new AtomicInteger();
+	private final CompletableFuture<Optional<URI>> response = new CompletableFuture<>();
+
+	@BeforeEach
+	public void setUp(TestInfo testInfo) throws CoreException {
+		project = TestUtils.createCProject(TestUtils.getName(testInfo));
+		pairs = new SourceHeaderPairs(ResourcesPlugin.getWorkspace(), (document, uri) -> {
+			requests.incrementAndGet();
+			return response;
+		}).start();
+	}
+
+	@AfterEach
+	public void cleanUp() throws CoreException {
+		pairs.stop();
+		TestUtils.deleteProject(project);
+	}
+
+	@Test
+	@DisplayName("The counterpart in the same folder shall be preferred")
+	void testGuessSameFolder() throws CoreException {
+		// GIVEN is a source with a header in its folder and one elsewhere:
+		var source = create("src/foo.cpp", 0); //$NON-NLS-1$
+		var header = create("src/foo.h", 0); //$NON-NLS-1$
+		create("include/foo.h", 0); //$NON-NLS-1$
+		// THEN the header in the same folder is guessed:
+		assertEquals(Optional.of(header.getLocationURI()), pairs.guess(source.getLocationURI()));
+		// AND the source for the header:
+		assertEquals(Optional.of(source.getLocationURI()), pairs.guess(header.getLocationURI()));
+	}
+
+	@Test
+	@DisplayName("Added and removed files shall update the guesses")
+	void testGuessUpdated() throws CoreException {
+		// GIVEN is a source without header, which has been guessed already:
+		var source = create("bar.cpp", 0); //$NON-NLS-1$
+		assertTrue(pairs.guess(source.getLocationURI()).isEmpty());
+		// WHEN its header gets added:
+		var header = create("include/bar.hpp", 0); //$NON-NLS-1$
+		// THEN it's guessed:
+		assertEquals(Optional.of(header.getLocationURI()), pairs.guess(source.getLocationURI()));
+		// WHEN the header gets removed:
+		header.delete(true, null);
+		// THEN it's no longer guessed:
+		assertTrue(pairs.guess(source.getLocationURI()).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Derived files shall not be guessed")
+	void testGuessDerived() throws CoreException {
+		// GIVEN is a source and a derived header with the same base name, e.g. generated by the build:
+		var source = create("baz.c", 0); //$NON-NLS-1$
+		pairs.guess(source.getLocationURI());
+		create("build/baz.h", IResource.DERIVED); //$NON-NLS-1$
+		// THEN the derived header is not guessed:
+		assertTrue(pairs.guess(source.getLocationURI()).isEmpty());
+	}
+
+	@Test
+	@DisplayName("The counterpart returned by clangd shall be cached in both directions until a file is removed")
+	void testCounterpart() throws CoreException {
+		var source = create("main.cpp", 0); //$NON-NLS-1$
+		var header = create("main.h", 0); //$NON-NLS-1$
+		var document = new Document();
+		// GIVEN are two concurrent requests for the counterpart of the source:
+		var first = pairs.counterpart(document, source.getLocationURI());
+		var second = pairs.counterpart(document, source.getLocationURI());
+		// THEN only one request is sent:
+		assertEquals(1, requests.get());
+		// WHEN clangd answers, with its own form of file URIs:
+		response.complete(Optional.of(URI.create("file://" + header.getLocationURI().getPath()))); //$NON-NLS-1$
+		// THEN both get the answer and the pair is cached in both directions:
+		assertTrue(first.join().isPresent());
+		assertTrue(second.join().isPresent());
+		assertEquals(Optional.of(header.getLocationURI()), pairs.cached(source.getLocationURI()));
+		assertEquals(Optional.of(source.getLocationURI()), pairs.cached(header.getLocationURI()));
+		// WHEN the header gets removed:
+		header.delete(true, null);
+		// THEN the pair is dropped:
+		assertTrue(pairs.cached(source.getLocationURI()).isEmpty());
+	}
+
+	private IFile create(String path, int flags) throws CoreException {
+		var file = project.getFile(path);
+		createFolders(file.getParent());
+		file.create(new ByteArrayInputStream(new byte[0]), flags | IResource.FORCE, null);
+		return file;
+	}
+
+	private static void createFolders(IContainer container) throws CoreException {
+		if (container instanceof IFolder folder && !folder.exists()) {
+			createFolders(folder.getParent());
+			folder.create(true, true, null);
+		}
+	}
+
+}
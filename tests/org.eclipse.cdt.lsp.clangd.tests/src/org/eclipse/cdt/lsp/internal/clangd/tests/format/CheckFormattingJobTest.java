@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.clangd.tests.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.eclipse.cdt.lsp.internal.clangd.format.CheckFormattingJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CheckFormattingJobTest {
+
+	@Test
+	@DisplayName("The line of a clang-format violation shall be parsed")
+	void testViolation() {
+		assertEquals(Optional.of(12), CheckFormattingJob.violation(
+				"/home/user/src/main.cpp:12:5: warning: code should be clang-formatted [-Wclang-format-violations]")); //$NON-NLS-1$
+		assertEquals(Optional.of(3), CheckFormattingJob.violation(
+				"C:\\src\\main.cpp:3:1: error: code should be clang-formatted [-Wclang-format-violations]")); //$NON-NLS-1$
+	}
+
+	@Test
+	@DisplayName("Other diagnostics of clang-format shall not be parsed as violation")
+	void testNoViolation() {
+		assertTrue(CheckFormattingJob.violation("int main() {}").isEmpty()); //$NON-NLS-1$
+		assertTrue(CheckFormattingJob.violation("  int x;").isEmpty()); //$NON-NLS-1$
+		assertTrue(CheckFormattingJob.violation("      ^").isEmpty()); //$NON-NLS-1$
+		assertTrue(CheckFormattingJob.violation(
+				"/home/user/.clang-format:2:1: error: unknown key 'Foo'").isEmpty()); //$NON-NLS-1$
+	}
+
+}
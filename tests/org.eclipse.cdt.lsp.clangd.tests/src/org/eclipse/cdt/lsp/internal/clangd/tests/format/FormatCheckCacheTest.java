@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.clangd.tests.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.cdt.lsp.internal.clangd.format.FormatCheckCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FormatCheckCacheTest {
+	private static final byte[] CONTENT = "int main() {}\n".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+	private static final byte[] STYLE = "BasedOnStyle: LLVM\n".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+	private static final String VERSION = "Ubuntu clang-format version 18.1.3 (1ubuntu1)"; //$NON-NLS-1$
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("The results shall survive saving and loading")
+	void testSaveAndLoad() throws IOException {
+		// GIVEN is a cache with a formatted and an unformatted file:
+		var location = directory.resolve("state/format-check.properties"); //$NON-NLS-1$
+		var cache = new FormatCheckCache(location);
+		var formatted = FormatCheckCache.key(CONTENT, STYLE, VERSION);
+		var unformatted = FormatCheckCache.key(new byte[0], STYLE, VERSION);
+		cache.put(formatted, List.of());
+		cache.put(unformatted, List.of(3, 7));
+		// WHEN it gets saved and loaded by another cache:
+		cache.save();
+		var loaded = new FormatCheckCache(location).load();
+		// THEN the results are the same:
+		assertEquals(Optional.of(List.of()), loaded.get(formatted));
+		assertEquals(Optional.of(List.of(3, 7)), loaded.get(unformatted));
+	}
+
+	@Test
+	@DisplayName("A missing cache file shall load an empty cache")
+	void testLoadMissing() throws IOException {
+		var cache = new FormatCheckCache(directory.resolve("missing.properties")).load(); //$NON-NLS-1$
+		assertTrue(cache.get(FormatCheckCache.key(CONTENT, STYLE, VERSION)).isEmpty());
+	}
+
+	@Test
+	@DisplayName("The key shall change with the content, the style and the clang-format version")
+	void testKey() {
+		var key = FormatCheckCache.key(CONTENT, STYLE, VERSION);
+		assertEquals(key, FormatCheckCache.key(CONTENT.clone(), STYLE.clone(), VERSION));
+		assertNotEquals(key, FormatCheckCache.key(new byte[0], STYLE, VERSION));
+		assertNotEquals(key, FormatCheckCache.key(CONTENT, new byte[0], VERSION));
+		// clang-format upgraded in place:
+		assertNotEquals(key, FormatCheckCache.key(CONTENT, STYLE, "Ubuntu clang-format version 19.1.1 (1ubuntu1)")); //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.clangd.tests.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.eclipse.cdt.lsp.clangd.tests.TestUtils;
+import org.eclipse.cdt.lsp.internal.clangd.format.FormatFilesJob;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+class FormatFilesJobTest {
+	private IProject project;
+
+	@BeforeEach
+	public void setUp(TestInfo testInfo) throws CoreException {
+		project = TestUtils.createCProject(TestUtils.getName(testInfo));
+	}
+
+	@AfterEach
+	public void cleanUp() throws CoreException {
+		TestUtils.deleteProject(project);
+	}
+
+	@Test
+	@DisplayName("The C/C++ files of the resources shall be collected, without derived files")
+	void testFiles() throws CoreException {
+		// GIVEN are C/C++ files, a text file and C/C++ files which are derived or within a derived folder:
+		var source = create("src/main.cpp", 0); //$NON-NLS-1$
+		var header = create("include/main.h", 0); //$NON-NLS-1$
+		create("README.txt", 0); //$NON-NLS-1$
+		create("src/generated.c", IResource.DERIVED); //$NON-NLS-1$
+		create("build/generated.cpp", 0); //$NON-NLS-1$
+		project.getFolder("build").setDerived(true, null); //$NON-NLS-1$
+		// WHEN the files of the project are collected:
+		var files = FormatFilesJob.files(List.<IResource>of(project));
+		// THEN only the C/C++ files which are not derived are returned:
+		assertEquals(List.of(header, source), files.stream().sorted((a, b) -> a.getFullPath().toString()
+				.compareTo(b.getFullPath().toString())).toList());
+	}
+
+	@Test
+	@DisplayName("A file selected together with its folder shall be collected once")
+	void testFilesOnce() throws CoreException {
+		// GIVEN is a file and its folder:
+		var source = create("src/main.c", 0); //$NON-NLS-1$
+		// WHEN the files of both are collected:
+		var files = FormatFilesJob.files(List.of(source.getParent(), source));
+		// THEN the file is returned once:
+		assertEquals(List.of(source), files);
+	}
+
+	private IFile create(String path, int flags) throws CoreException {
+		var file = project.getFile(path);
+		createFolders(file.getParent());
+		file.create(new ByteArrayInputStream(new byte[0]), flags | IResource.FORCE, null);
+		return file;
+	}
+
+	private static void createFolders(IContainer container) throws CoreException {
+		if (container instanceof IFolder folder && !folder.exists()) {
+			createFolders(folder.getParent());
+			folder.create(true, true, null);
+		}
+	}
+
+}